@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares formatting tick labels with String.format() and
+ * DateTimeFormatter.format() on every redraw against TickLabelCache. A
+ * dashboard with a number of linear and time axes is redrawn repeatedly,
+ * the label values stay the same between redraws like they do while data
+ * is appended or the chart is resized. Run with ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TickLabelBenchmark {
+    private static final int               NO_OF_AXES   = 50;
+    private static final int               NO_OF_LABELS = 11;
+    private static final Locale            LOCALE       = Locale.US;
+    private static final String            FORMAT       = "%.1f";
+    private static final DateTimeFormatter FORMATTER    = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm", LOCALE);
+    private static final LocalDateTime     START        = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private              double[]          values;
+    private              LocalDateTime[]   dateTimes;
+
+
+    @Setup public void setup() {
+        values    = new double[NO_OF_AXES * NO_OF_LABELS];
+        dateTimes = new LocalDateTime[NO_OF_AXES * NO_OF_LABELS];
+        for (int axis = 0 ; axis < NO_OF_AXES ; axis++) {
+            for (int i = 0 ; i < NO_OF_LABELS ; i++) {
+                values[axis * NO_OF_LABELS + i]    = axis + i * 0.5;
+                dateTimes[axis * NO_OF_LABELS + i] = START.plusHours(axis + i);
+            }
+        }
+    }
+
+    @Benchmark public void formatNumbers(final Blackhole BH) {
+        for (double value : values) { BH.consume(String.format(LOCALE, FORMAT, value)); }
+    }
+
+    @Benchmark public void cacheNumbers(final Blackhole BH) {
+        for (double value : values) { BH.consume(TickLabelCache.format(LOCALE, FORMAT, value)); }
+    }
+
+    @Benchmark public void formatTimes(final Blackhole BH) {
+        for (LocalDateTime dateTime : dateTimes) { BH.consume(FORMATTER.format(dateTime)); }
+    }
+
+    @Benchmark public void cacheTimes(final Blackhole BH) {
+        for (LocalDateTime dateTime : dateTimes) { BH.consume(TickLabelCache.format(FORMATTER, dateTime)); }
+    }
+}
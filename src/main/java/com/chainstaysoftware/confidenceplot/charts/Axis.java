@@ -45,18 +45,13 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -90,12 +85,14 @@ public class Axis extends Region {
     private              Canvas                                    axisCanvas;
     private              GraphicsContext                           axisCtx;
     private              Pane                                      pane;
+    private              SnapshotProjection                        projection;
     private              double                                    _minValue;
     private              DoubleProperty                            minValue;
     private              LocalDateTime                             _start;
     private              ObjectProperty<LocalDateTime>             start;
     private              double                                    _maxValue;
     private              DoubleProperty                            maxValue;
+    private              boolean                                   settingRange;
     private              LocalDateTime                             _end;
     private              ObjectProperty<LocalDateTime>             end;
     private              boolean                                   _autoScale;
@@ -169,6 +166,7 @@ public class Axis extends Region {
     private              List<String>                              categories;
     private              DateTimeFormatter                         dateTimeFormatter;
     private              Interval                                  currentInterval;
+    private              TimeTickGenerator                         timeTicks;
 
 
     // ******************** Constructors **************************************
@@ -200,6 +198,7 @@ public class Axis extends Region {
 
         _minValue                         = MIN_VALUE;
         _maxValue                         = MAX_VALUE;
+        settingRange                      = false;
         
         _type                             = TYPE;
         _autoScale                        = true;
@@ -235,6 +234,7 @@ public class Axis extends Region {
         _zoneId                           = ZoneId.systemDefault();
         _dateTimeFormatPattern            = "dd.MM.YY HH:mm:ss";
         currentInterval                   = Interval.SECOND_1;
+        timeTicks                         = new TimeTickGenerator();
         dateTimeFormatter                 = DateTimeFormatter.ofPattern(_dateTimeFormatPattern, _locale);
         categories                        = new LinkedList<>();
         tickLabelFormatString             = new StringBuilder("%.").append(Integer.toString(_decimals)).append("f").toString();
@@ -261,6 +261,7 @@ public class Axis extends Region {
         _minValue                         = START.toEpochSecond(Helper.getZoneOffset());
         _start                            = START;
         _maxValue                         = END.toEpochSecond(Helper.getZoneOffset());
+        settingRange                      = false;
         _end                              = END;
 
         _type                             = AxisType.TIME;
@@ -296,6 +297,7 @@ public class Axis extends Region {
         _zoneId                           = ZoneId.systemDefault();
         _dateTimeFormatPattern            = "dd.MM.YY HH:mm:ss";
         currentInterval                   = Interval.SECOND_1;
+        timeTicks                         = new TimeTickGenerator();
         dateTimeFormatter                 = DateTimeFormatter.ofPattern(_dateTimeFormatPattern, _locale);
         tickLabelFormatString             = new StringBuilder("%.").append(Integer.toString(_decimals)).append("f").toString();
 
@@ -321,6 +323,7 @@ public class Axis extends Region {
 
         axisCanvas = new Canvas(width, height);
         axisCtx    = axisCanvas.getGraphicsContext2D();
+        projection = new SnapshotProjection(this);
 
         pane = new Pane(axisCanvas);
 
@@ -350,7 +353,7 @@ public class Axis extends Region {
         if (null == minValue) {
             if (VALUE > getMaxValue()) { setMaxValue(VALUE); }
             _minValue = Helper.clamp(-Double.MAX_VALUE, getMaxValue(), VALUE);
-            fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+            fireRangeChanged();
         } else {
             minValue.set(VALUE);
         }
@@ -360,7 +363,7 @@ public class Axis extends Region {
             minValue = new DoublePropertyBase(_minValue) {
                 @Override protected void invalidated() {
                     if (getValue() > getMaxValue()) setMaxValue(getValue());
-                    fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+                    fireRangeChanged();
                 }
                 @Override public Object getBean() {  return Axis.this;  }
                 @Override public String getName() {  return "minValue"; }
@@ -417,7 +420,7 @@ public class Axis extends Region {
         if (null == maxValue) {
             if (VALUE < getMinValue()) { setMinValue(VALUE); }
             _maxValue = Helper.clamp(getMinValue(), Double.MAX_VALUE, VALUE);
-            fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+            fireRangeChanged();
         } else {
             maxValue.set(VALUE);
         }
@@ -427,7 +430,7 @@ public class Axis extends Region {
             maxValue = new DoublePropertyBase(_maxValue) {
                 @Override protected void invalidated() {
                     if (get() < getMinValue()) setMinValue(get());
-                    fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+                    fireRangeChanged();
                 }
                 @Override public Object getBean() { return Axis.this; }
                 @Override public String getName() { return "maxValue"; }
@@ -1150,10 +1153,35 @@ public class Axis extends Region {
         return DATE_TIME.isAfter(getStart()) && DATE_TIME.isBefore(getEnd());
     }
 
+    /**
+     * Sets both values at once, observers get one AXIS_RANGE_CHANGED event
+     * and the axis is drawn once.
+     */
     public void setMinMax(final double MIN_VALUE, final double MAX_VALUE) {
-        setMinValue(MIN_VALUE);
-        setMaxValue(MAX_VALUE);
-        resize();
+        settingRange = true;
+        try {
+            // The order keeps one value from being clamped against the old other one
+            if (MIN_VALUE > getMaxValue()) {
+                setMaxValue(MAX_VALUE);
+                setMinValue(MIN_VALUE);
+            } else {
+                setMinValue(MIN_VALUE);
+                setMaxValue(MAX_VALUE);
+            }
+            // Drawn before the event so observers see the final range and tick spacing
+            resize();
+        } finally {
+            settingRange = false;
+        }
+        fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+    }
+
+    // Takes the range of the viewport that matches the orientation, nothing happens if it is the current range
+    public void setViewport(final Viewport VIEWPORT) {
+        final double MIN = VERTICAL == getOrientation() ? VIEWPORT.getLowerBoundY() : VIEWPORT.getLowerBoundX();
+        final double MAX = VERTICAL == getOrientation() ? VIEWPORT.getUpperBoundY() : VIEWPORT.getUpperBoundX();
+        if (Double.compare(MIN, getMinValue()) == 0 && Double.compare(MAX, getMaxValue()) == 0) { return; }
+        setMinMax(MIN, MAX);
     }
     public void setStartEnd(final LocalDateTime start, final LocalDateTime end) {
         setStart(start);
@@ -1218,13 +1246,11 @@ public class Axis extends Region {
         setMinorTickSpace(Helper.calcNiceNumber(getMajorTickSpace() / (maxNoOfMinorTicks - 1), false));
     }
 
-    private double calcTextWidth(final Font FONT, final String TEXT) {
-        Text text = new Text(TEXT);
-        text.setFont(FONT);
-        double width = text.getBoundsInParent().getWidth();
-        text = null;
-        return width;
-    }
+    private double calcTextWidth(final Font FONT, final String TEXT) { return TextWidthCache.getWidth(FONT, TEXT); }
+
+    private String formatTickLabel(final Locale LOCALE, final double VALUE) { return TickLabelCache.format(LOCALE, tickLabelFormatString, VALUE); }
+
+    private String formatDateTime(final LocalDateTime DATE_TIME) { return TickLabelCache.format(dateTimeFormatter, DATE_TIME); }
 
     private double toNumericValue(final LocalDateTime DATE) {
         return Helper.toMillis(DATE, Helper.getZoneOffset(getZoneId()));
@@ -1236,151 +1262,6 @@ public class Axis extends Region {
         return LocalDateTime.ofInstant(Instant.ofEpochSecond(SECONDS), ZoneId.systemDefault());
     }
 
-    private List<LocalDateTime> createTickValues(final double WIDTH, final LocalDateTime START, final LocalDateTime END) {
-        List<LocalDateTime> dateList = new ArrayList<>();
-        LocalDateTime       dateTime = LocalDateTime.now();
-
-        if (null == START || null == END) return dateList;
-
-        // The preferred gap which should be between two tick marks.
-        double majorTickSpace = 100;
-        double noOfTicks      = WIDTH / majorTickSpace;
-
-        List<LocalDateTime> previousDateList = new ArrayList<>();
-        Interval            previousInterval = Interval.values()[0];
-
-        // Starting with the greatest interval, add one of each dateTime unit.
-        for (Interval interval : Interval.values()) {
-            // Reset the dateTime.
-            dateTime = LocalDateTime.of(START.toLocalDate(), START.toLocalTime());
-            // Clear the list.
-            dateList.clear();
-            previousDateList.clear();
-            currentInterval = interval;
-
-            // Loop as long we exceeded the END bound.
-            while(dateTime.isBefore(END)) {
-                dateList.add(dateTime);
-                dateTime = dateTime.plus(interval.getAmount(), interval.getInterval());
-            }
-
-            // Then check the size of the list. If it is greater than the amount of ticks, take that list.
-            if (dateList.size() > noOfTicks) {
-                dateTime = LocalDateTime.of(START.toLocalDate(), START.toLocalTime());
-                // Recheck if the previous interval is better suited.
-                while(dateTime.isBefore(END) || dateTime.isEqual(END)) {
-                    previousDateList.add(dateTime);
-                    dateTime = dateTime.plus(previousInterval.getAmount(), previousInterval.getInterval());
-                }
-                break;
-            }
-
-            previousInterval = interval;
-        }
-        if (previousDateList.size() - noOfTicks > noOfTicks - dateList.size()) {
-            dateList = previousDateList;
-            currentInterval = previousInterval;
-        }
-
-        // At last add the END bound.
-        dateList.add(END);
-
-        List<LocalDateTime> evenDateList = makeDatesEven(dateList, dateTime);
-        // If there are at least three dates, check if the gap between the START date and the second date is at least half the gap of the second and third date.
-        // Do the same for the END bound.
-        // If gaps between dates are to small, remove one of them.
-        // This can occur, e.g. if the START bound is 25.12.2013 and years are shown. Then the next year shown would be 2014 (01.01.2014) which would be too narrow to 25.12.2013.
-        if (evenDateList.size() > 2) {
-            LocalDateTime secondDate       = evenDateList.get(1);
-            LocalDateTime thirdDate        = evenDateList.get(2);
-            LocalDateTime lastDate         = evenDateList.get(dateList.size() - 2);
-            LocalDateTime previousLastDate = evenDateList.get(dateList.size() - 3);
-
-            // If the second date is too near by the START bound, remove it.
-            if (secondDate.toEpochSecond(ZoneOffset.ofHours(0)) - START.toEpochSecond(ZoneOffset.ofHours(0)) < thirdDate.toEpochSecond(ZoneOffset.ofHours(0)) - secondDate.toEpochSecond(ZoneOffset.ofHours(0))) {
-                evenDateList.remove(secondDate);
-            }
-
-            // If difference from the END bound to the last date is less than the half of the difference of the previous two dates,
-            // we better remove the last date, as it comes to close to the END bound.
-            if (END.toEpochSecond(ZoneOffset.ofHours(0)) - lastDate.toEpochSecond(ZoneOffset.ofHours(0)) < ((lastDate.toEpochSecond(ZoneOffset.ofHours(0)) - previousLastDate.toEpochSecond(ZoneOffset.ofHours(0)) * 0.5))) {
-                evenDateList.remove(lastDate);
-            }
-        }
-        return evenDateList;
-    }
-    private List<LocalDateTime> makeDatesEven(List<LocalDateTime> dates, LocalDateTime dateTime) {
-        // If the dates contain more dates than just the lower and upper bounds, make the dates in between even.
-        if (dates.size() > 2) {
-            List<LocalDateTime> evenDates = new ArrayList<>();
-
-            // For each interval, modify the date slightly by a few millis, to make sure they are different days.
-            // This is because Axis stores each value and won't update the tick labels, if the value is already known.
-            // This happens if you display days and then add a date many years in the future the tick label will still be displayed as day.
-            for (int i = 0; i < dates.size(); i++) {
-                dateTime = dates.get(i);
-                switch (currentInterval.getInterval()) {
-                    case YEARS:
-                        // If its not the first or last date (lower and upper bound), make the year begin with first month and let the months begin with first day.
-                        if (i != 0 && i != dates.size() - 1) {
-                            dateTime.withMonth(1);
-                            dateTime.withDayOfMonth(1);
-                        }
-                        dateTime.withHour(0);
-                        dateTime.withMinute(0);
-                        dateTime.withSecond(0);
-                        dateTime.withNano(6000000);
-                        break;
-                    case MONTHS:
-                        // If its not the first or last date (lower and upper bound), make the months begin with first day.
-                        if (i != 0 && i != dates.size() - 1) {
-                            dateTime.withDayOfMonth(1);
-                        }
-                        dateTime.withHour(0);
-                        dateTime.withMinute(0);
-                        dateTime.withSecond(0);
-                        dateTime.withNano(5000000);
-                        break;
-                    case WEEKS:
-                        // Make weeks begin with first day of week?
-                        dateTime.withHour(0);
-                        dateTime.withMinute(0);
-                        dateTime.withSecond(0);
-                        dateTime.withNano(4000000);
-                        break;
-                    case DAYS:
-                        dateTime.withHour(0);
-                        dateTime.withMinute(0);
-                        dateTime.withSecond(0);
-                        dateTime.withNano(3000000);
-                        break;
-                    case HOURS:
-                        if (i != 0 && i != dates.size() - 1) {
-                            dateTime.withMinute(0);
-                            dateTime.withSecond(0);
-                        }
-                        dateTime.withNano(2000000);
-                        break;
-                    case MINUTES:
-                        if (i != 0 && i != dates.size() - 1) {
-                            dateTime.withSecond(0);
-                        }
-                        dateTime.withNano(1000000);
-                        break;
-                    case SECONDS:
-                        dateTime.withSecond(0);
-                        break;
-
-                }
-                evenDates.add(dateTime);
-            }
-
-            return evenDates;
-        } else {
-            return dates;
-        }
-    }
-
 
     // ******************** Event Handling ************************************
     public void addChartEvtObserver(final EvtType type, final EvtObserver<ChartEvt> observer) {
@@ -1405,9 +1286,27 @@ public class Axis extends Region {
         }
     }
 
+    private void fireRangeChanged() {
+        if (settingRange) { return; }
+        fireChartEvt(AXIS_RANGE_CHANGED_EVT);
+    }
+
+    // Stretches the last drawn axis to the given range until endPreview() is called
+    void previewRange(final double MIN, final double MAX) {
+        if (VERTICAL == getOrientation()) {
+            projection.setRangeY(height, getMinValue(), getMaxValue(), MIN, MAX);
+        } else {
+            projection.setRangeX(width, getMinValue(), getMaxValue(), MIN, MAX);
+        }
+        projection.apply(axisCanvas);
+    }
+    void endPreview() { projection.clear(axisCanvas); }
+
 
     // ******************** Drawing *******************************************
     private void drawAxis() {
+        // The range might have changed since the last resize (auto scale, setMinValue())
+        stepSize = Math.abs((VERTICAL == getOrientation() ? height : width) / getRange());
         if (Double.compare(stepSize, 0) <= 0) return;
 
         axisCtx.clearRect(0, 0, width, height);
@@ -1486,14 +1385,8 @@ public class Axis extends Region {
             boolean    fullRange        = (minValue < 0 && maxValue > 0);
             double     minorTickSpace   = getMinorTickSpace();
             double     majorTickSpace   = getMajorTickSpace();
-            double     tmpStepSize      = minorTickSpace;
-            BigDecimal minorTickSpaceBD = BigDecimal.valueOf(minorTickSpace);
-            BigDecimal majorTickSpaceBD = BigDecimal.valueOf(majorTickSpace);
-            BigDecimal mediumCheck2     = BigDecimal.valueOf(2 * minorTickSpace);
-            BigDecimal mediumCheck5     = BigDecimal.valueOf(5 * minorTickSpace);
-            BigDecimal counterBD        = BigDecimal.valueOf(minValue);
-            double     counter          = minValue;
-            double     range            = getRange();
+            TickPlan   plan             = TickPlan.of(minValue, maxValue, minorTickSpace, majorTickSpace);
+            double     counter;
             int        noOfCategories   = categories.size();
 
             axisCtx.setStroke(getAxisColor());
@@ -1516,12 +1409,10 @@ public class Axis extends Region {
 
 
             // Main Loop for tick marks and labels
-            BigDecimal tmpStepBD = new BigDecimal(tmpStepSize);
-            tmpStepBD = tmpStepBD.setScale(6, RoundingMode.HALF_UP); // newScale == number of decimals taken into account
-            double tmpStep          = tmpStepBD.doubleValue();
-            int    tickMarkCounter  = 0;
-            int    tickLabelCounter = 0;
-            for (double i = 0; Double.compare(-range - tmpStep, i) <= 0; i -= tmpStep) {
+            int tickMarkCounter  = 0;
+            int tickLabelCounter = 0;
+            for (int i = 0 ; i < plan.getNoOfTicks() ; i++) {
+                counter = plan.getValue(i);
                 double fixedPosition = (counter - minValue) * stepSize;
                 if (VERTICAL == orientation) {
                     if (Position.LEFT == position) {
@@ -1601,7 +1492,7 @@ public class Axis extends Region {
                     }
                 }
 
-                if (Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(majorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                if (plan.isMajor(i)) {
                     // Draw major tick mark
                     isMinValue = Double.compare(minValue, counter) == 0;
                     isMaxValue = Double.compare(maxValue, counter) == 0;
@@ -1624,9 +1515,9 @@ public class Axis extends Region {
                         String tickLabelString;
                         if (AxisType.LINEAR == axisType) {
                             if (TickLabelFormat.NUMBER == tickLabelFormat) {
-                                tickLabelString = Orientation.HORIZONTAL == orientation ? String.format(locale, tickLabelFormatString, (minValue - i)) : String.format(locale, tickLabelFormatString, maxValue - counter + minValue);
+                                tickLabelString = Orientation.HORIZONTAL == orientation ? formatTickLabel(locale, counter) : formatTickLabel(locale, maxValue - counter + minValue);
                             } else {
-                                tickLabelString = Orientation.HORIZONTAL == orientation ? Helper.secondsToHHMMString(Helper.toSeconds(Helper.toRealValue(minValue - i), Helper.getZoneOffset())) : String.format(locale, tickLabelFormatString, maxValue - counter + minValue);
+                                tickLabelString = Orientation.HORIZONTAL == orientation ? Helper.secondsToHHMMString(Helper.toSeconds(Helper.toRealValue(counter), Helper.getZoneOffset())) : formatTickLabel(locale, maxValue - counter + minValue);
                             }
                         } else if (AxisType.TEXT == axisType) {
                             if (tickLabelCounter < noOfCategories) {
@@ -1641,15 +1532,14 @@ public class Axis extends Region {
                             }
                         } else {
                             // Date Axis
-                            tickLabelString = dateTimeFormatter.format(toLocalDateTime((long) (minValue - i) * 1000));
+                            tickLabelString = formatDateTime(toLocalDateTime((long) counter * 1000));
                         }
                         drawTickLabel(isOnlyFirstAndLastTickLabelVisible, isZero, isMinValue, isMaxValue, fullRange, zeroColor, tickLabelColor, textPointX, textPointY, maxTextWidth, tickLabelString, orientation);
                     }
-                } else if (mediumTickMarksVisible && Double.compare(minorTickSpaceBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck2).doubleValue(), 0.0) != 0.0 &&
-                           Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck5).doubleValue(), 0.0) == 0.0) {
+                } else if (mediumTickMarksVisible && plan.isMedium(i)) {
                     // Draw medium tick mark
                     drawTickMark(mediumTickMarkColor, mediumLineWidth, mediumPointX, mediumPointY, outerPointX, outerPointY);
-                } else if (minorTickMarksVisible && Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(minorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                } else if (minorTickMarksVisible && plan.isMinor(i)) {
                     // Draw minor tick mark
                     drawTickMark(minorTickMarkColor, minorLineWidth, minorPointX, minorPointY, outerPointX, outerPointY);
                 } else if (!isAutoScale && tickMarkCounter % 10 == 0) {
@@ -1670,19 +1560,15 @@ public class Axis extends Region {
                     if (tickLabelsVisible) {
                         String tickLabelString;
                         if (TickLabelFormat.NUMBER == getTickLabelFormat()) {
-                            tickLabelString = Orientation.HORIZONTAL == orientation ? String.format(locale, tickLabelFormatString, (minValue - i)) : String.format(locale, tickLabelFormatString, maxValue - counter + minValue);
+                            tickLabelString = Orientation.HORIZONTAL == orientation ? formatTickLabel(locale, counter) : formatTickLabel(locale, maxValue - counter + minValue);
                         } else {
-                            tickLabelString = Orientation.HORIZONTAL == orientation ? Helper.secondsToHHMMString(Helper.toSeconds(Helper.toRealValue(minValue - i), Helper.getZoneOffset())) : String.format(locale, tickLabelFormatString, maxValue - counter + minValue);
+                            tickLabelString = Orientation.HORIZONTAL == orientation ? Helper.secondsToHHMMString(Helper.toSeconds(Helper.toRealValue(counter), Helper.getZoneOffset())) : formatTickLabel(locale, maxValue - counter + minValue);
                         }
                         drawTickLabel(isOnlyFirstAndLastTickLabelVisible, isZero, isMinValue, isMaxValue, fullRange, zeroColor, tickLabelColor, textPointX, textPointY, maxTextWidth, tickLabelString, orientation);
                     }
                 } else if (tickMarkCounter % 1 == 0) {
                     drawTickMark(minorTickMarkColor, minorLineWidth, minorPointX, minorPointY, outerPointX, outerPointY);
                 }
-
-                counterBD = counterBD.add(minorTickSpaceBD);
-                counter = counterBD.doubleValue();
-                if (counter > maxValue) break;
             }
         } else if (AxisType.LOGARITHMIC == axisType){
             // ******************** Logarithmic *******************************
@@ -1710,8 +1596,8 @@ public class Axis extends Region {
 
             for (double i = 0; i <= logUpperBound; i += 1) {
                 for (double j = 1; j <= 9; j++) {
-                    BigDecimal value = new BigDecimal(j * Math.pow(10, i));
-                    double stepSize = i > 0 ? (Math.log10(value.doubleValue()) % i) : Math.log10(value.doubleValue());
+                    double value    = j * Math.pow(10, i);
+                    double stepSize = i > 0 ? (Math.log10(value) % i) : Math.log10(value);
                     double fixedPosition;
                     if (VERTICAL == orientation) {
                         isMinValue    = Double.compare(i, logUpperBound) == 0;
@@ -1765,7 +1651,7 @@ public class Axis extends Region {
                         }
                     }
 
-                    if (Helper.isPowerOf10(value.intValue())) {
+                    if (Helper.isPowerOf10((int) value)) {
                         if (majorTickMarksVisible) {
                             drawTickMark(majorTickMarkColor, majorLineWidth, innerPointX, innerPointY, outerPointX, outerPointY);
                         } else if (minorTickMarksVisible) {
@@ -1777,7 +1663,7 @@ public class Axis extends Region {
                             if (VERTICAL == orientation) {
                                 axisCtx.setTextAlign(TextAlignment.RIGHT);
                             }
-                            drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, isMinValue, isMaxValue, false, zeroColor, tickLabelColor, textPointX, textPointY, maxTextWidth, String.format(locale, tickLabelFormatString, value), orientation);
+                            drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, isMinValue, isMaxValue, false, zeroColor, tickLabelColor, textPointX, textPointY, maxTextWidth, formatTickLabel(locale, value), orientation);
                         }
                     } else {
                         if (minorTickMarksVisible) {
@@ -1798,7 +1684,6 @@ public class Axis extends Region {
         axisCtx.setTextBaseline(VPos.CENTER);
 
         double      minValue                           = Helper.toNumericValue(getStart());
-        double      maxValue                           = Helper.toNumericValue(getEnd());
         boolean     tickLabelsVisible                  = getTickLabelsVisible();
         boolean     mediumTickLabelsVisible            = getMediumTimeAxisTickLabelsVisible();
         boolean     isOnlyFirstAndLastTickLabelVisible = isOnlyFirstAndLastTickLabelVisible();
@@ -1845,15 +1730,15 @@ public class Axis extends Region {
         double      maxTextWidth;
 
         // ******************** Date **************************************
-        createTickValues(width, getStart(), getEnd());
         long                minValueInSeconds = getStart().toEpochSecond(Helper.getZoneOffset());
         long                maxValueInSeconds = getEnd().toEpochSecond(Helper.getZoneOffset());
+        timeTicks.update(width, minValueInSeconds, maxValueInSeconds);
+        currentInterval = timeTicks.getInterval();
         long                rangeInSeconds    = Duration.between(getStart(), getEnd()).getSeconds();
         double              stepSize          = VERTICAL == orientation ? height / rangeInSeconds : width / rangeInSeconds;
         long                majorTickSpace    = currentInterval.getMajorTickSpace();
         long                mediumTickSpace   = currentInterval.getMediumTickSpace();
         long                minorTickSpace    = currentInterval.getMinorTickSpace();
-        long                counter           = minValueInSeconds;
 
         axisCtx.setLineWidth(majorLineWidth);
 
@@ -1880,9 +1765,10 @@ public class Axis extends Region {
         double mediumTickMarkLength = VERTICAL == orientation ? mediumTickMarkLengthFactor * width : mediumTickMarkLengthFactor * height;
         double minorTickMarkLength  = VERTICAL == orientation ? minorTickMarkLengthFactor  * width : minorTickMarkLengthFactor  * height;
 
-        // Main Loop for tick marks and labels
-        for (long i = minValueInSeconds; i <= maxValueInSeconds; i++) {
-            double fixedPosition = (counter - minValueInSeconds) * stepSize;
+        // Main Loop for tick marks and labels, only the multiples of the minor tick space can get a tick mark
+        for (int tick = 0 ; tick < timeTicks.getNoOfTicks() ; tick++) {
+            long   i             = timeTicks.getTick(tick);
+            double fixedPosition = (i - minValueInSeconds) * stepSize;
 
             if (VERTICAL == orientation) {
                 if (Position.LEFT == position) {
@@ -1992,11 +1878,11 @@ public class Axis extends Region {
                     if (VERTICAL == orientation) {
                         axisCtx.setTextAlign(TextAlignment.RIGHT);
                         if (isMinValue) {
-                            axisCtx.fillText(dateTimeFormatter.format(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY + size * 0.15, maxTextWidth);
+                            axisCtx.fillText(formatDateTime(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY + size * 0.15, maxTextWidth);
                         } else if (isMaxValue) {
-                            axisCtx.fillText(dateTimeFormatter.format(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY - size * 0.15, maxTextWidth);
+                            axisCtx.fillText(formatDateTime(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY - size * 0.15, maxTextWidth);
                         } else {
-                            axisCtx.fillText(dateTimeFormatter.format(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY, maxTextWidth);
+                            axisCtx.fillText(formatDateTime(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY, maxTextWidth);
                         }
                     } else {
                         if (isMinValue) {
@@ -2006,14 +1892,14 @@ public class Axis extends Region {
                         } else {
                             axisCtx.setTextAlign(TextAlignment.CENTER);
                             LocalDateTime currentDateTime = toLocalDateTime(i);
-                            double halfLabelWidth = calcTextWidth(tickLabelFont, dateTimeFormatter.format(currentDateTime)) * 0.5;
+                            double halfLabelWidth = calcTextWidth(tickLabelFont, formatDateTime(currentDateTime)) * 0.5;
                             if (textPointX - halfLabelWidth < 0) {
                                 textPointX = halfLabelWidth;
                             } else if (textPointX + halfLabelWidth > width) {
                                 textPointX = width - halfLabelWidth;
                             }
                         }
-                        drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, isMinValue, isMaxValue, false, majorTickMarkColor, tickLabelColor, textPointX, textPointY, maxTextWidth, dateTimeFormatter.format(toLocalDateTime(i)), orientation);
+                        drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, isMinValue, isMaxValue, false, majorTickMarkColor, tickLabelColor, textPointX, textPointY, maxTextWidth, formatDateTime(toLocalDateTime(i)), orientation);
                     }
                 }
             } else if(mediumTickMarksVisible && i % mediumTickSpace == 0) {
@@ -2027,17 +1913,17 @@ public class Axis extends Region {
                     axisCtx.setFill(getTickLabelColor());
                     if (VERTICAL == orientation) {
                         axisCtx.setTextAlign(TextAlignment.RIGHT);
-                        axisCtx.fillText(dateTimeFormatter.format(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY, maxTextWidth);
+                        axisCtx.fillText(formatDateTime(toLocalDateTime((long) (minValue - i) * 1000)), textPointX, textPointY, maxTextWidth);
                     } else {
                         axisCtx.setTextAlign(TextAlignment.CENTER);
                         LocalDateTime currentDateTime = toLocalDateTime(i);
-                        double halfLabelWidth = calcTextWidth(tickLabelFont, dateTimeFormatter.format(currentDateTime)) * 0.5;
+                        double halfLabelWidth = calcTextWidth(tickLabelFont, formatDateTime(currentDateTime)) * 0.5;
                         if (textPointX - halfLabelWidth < 0) {
                                 textPointX = halfLabelWidth;
                             } else if (textPointX + halfLabelWidth > width) {
                                 textPointX = width - halfLabelWidth;
                             }
-                        drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, false, false, false, majorTickMarkColor, tickLabelColor, textPointX, textPointY, maxTextWidth, dateTimeFormatter.format(toLocalDateTime(i)), orientation);
+                        drawTickLabel(isOnlyFirstAndLastTickLabelVisible, false, false, false, false, majorTickMarkColor, tickLabelColor, textPointX, textPointY, maxTextWidth, formatDateTime(toLocalDateTime(i)), orientation);
                     }
                 }
             } else if (minorTickMarksVisible && i % minorTickSpace == 0) {
@@ -2046,9 +1932,6 @@ public class Axis extends Region {
                 axisCtx.setLineWidth(minorLineWidth);
                 axisCtx.strokeLine(minorPointX, minorPointY, outerPointX, outerPointY);
             }
-
-            counter++; // 1 Second
-            if (counter > maxValue) break;
         }
         
         drawAxisTitle(orientation, position);
@@ -17,5 +17,5 @@
 package com.chainstaysoftware.confidenceplot.charts;
 
 public enum ChartType {
-    CONFIDENCE_LINE, CONFIDENCE_SMOOTH_LINE
+    CONFIDENCE_LINE, CONFIDENCE_SMOOTH_LINE, CONFIDENCE_DENSITY
 }
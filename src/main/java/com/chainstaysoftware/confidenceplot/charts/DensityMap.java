@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
+import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Per pixel coverage histogram of all CONFIDENCE_DENSITY series of a pane.
+ * Bands and lines of every series add to the counts of the pixels they
+ * cover, the counts are mapped through a color ramp (log scale) into one
+ * image. Series are accumulated in parallel into partial histograms that
+ * are summed up afterwards, the image is drawn once no matter how many
+ * series overlap. The partial histograms are kept between frames. Lines are drawn as straight segments, also for smooth data.
+ */
+final class DensityMap {
+    private static final float         BAND_WEIGHT  = 1f;
+    private static final float         LINE_WEIGHT  = 2f;
+    private static final int           NO_OF_COLORS = 50;
+    private              int           width;
+    private              int           height;
+    private              float[]       counts;
+    private              float[][]     buffers;
+    private              int[]         pixels;
+    private              int[]         palette;
+    private              Color         lowColor;
+    private              Color         highColor;
+    private              WritableImage image;
+
+
+    // ******************** Constructors **************************************
+    DensityMap() {
+        counts    = new float[0];
+        buffers   = new float[0][];
+        pixels    = new int[0];
+        lowColor  = Color.rgb(0, 0, 255, 0.2);
+        highColor = Color.rgb(255, 0, 0, 1.0);
+    }
+
+
+    // ******************** Methods *******************************************
+    int[] getPixels() { return pixels; }
+
+    void setColors(final Color LOW, final Color HIGH) {
+        if (LOW.equals(lowColor) && HIGH.equals(highColor)) { return; }
+        lowColor  = LOW;
+        highColor = HIGH;
+        palette   = null;
+    }
+
+    /**
+     * Accumulates the items [FROM[i], TO[i]) of every series. The ranges are
+     * passed in because they are looked up on the FX thread.
+     */
+    void accumulate(final List<? extends XYConfidenceSeries<?>> SERIES, final int[] FROM, final int[] TO, final int WIDTH, final int HEIGHT,
+                    final double LOWER_BOUND_X, final double LOWER_BOUND_Y, final double SCALE_X, final double SCALE_Y) {
+        if (WIDTH != width || HEIGHT != height) {
+            width  = WIDTH;
+            height = HEIGHT;
+            pixels  = new int[WIDTH * HEIGHT];
+            buffers = new float[0][];
+            image   = null;
+        }
+        // At most one full frame histogram per worker, buffers of leaves that are no longer needed are dropped
+        final Projection PROJECTION   = new Projection(WIDTH, HEIGHT, LOWER_BOUND_X, LOWER_BOUND_Y, SCALE_X, SCALE_Y);
+        final int        NO_OF_LEAVES = Math.max(1, Math.min(SERIES.size(), ForkJoinPool.getCommonPoolParallelism()));
+        if (buffers.length != NO_OF_LEAVES) {
+            final int OLD_LENGTH = buffers.length;
+            buffers = Arrays.copyOf(buffers, NO_OF_LEAVES);
+            for (int i = OLD_LENGTH ; i < NO_OF_LEAVES ; i++) { buffers[i] = new float[WIDTH * HEIGHT]; }
+        }
+        if (SERIES.isEmpty()) {
+            Arrays.fill(buffers[0], 0);
+        } else {
+            ForkJoinPool.commonPool().invoke(new AccumulateTask(SERIES, FROM, TO, PROJECTION, buffers, 0, NO_OF_LEAVES));
+        }
+        counts = buffers[0];
+        colorize();
+    }
+
+    WritableImage getImage() {
+        if (null == image) { image = new WritableImage(Math.max(1, width), Math.max(1, height)); }
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+        return image;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void colorize() {
+        if (null == palette) {
+            final List<Color> COLORS = Helper.createColorPalette(lowColor, highColor, NO_OF_COLORS);
+            palette = new int[COLORS.size()];
+            for (int i = 0 ; i < palette.length ; i++) { palette[i] = toPremultipliedArgb(COLORS.get(i)); }
+        }
+        float max = 0;
+        for (float count : counts) { if (count > max) { max = count; } }
+        final double LOG_MAX = Math.log1p(max);
+        final int    LAST    = palette.length - 1;
+        for (int i = 0 ; i < counts.length ; i++) {
+            pixels[i] = counts[i] > 0 ? palette[(int) Math.round(Math.log1p(counts[i]) / LOG_MAX * LAST)] : 0;
+        }
+    }
+
+    private static void accumulateSeries(final XYConfidenceSeries<?> SERIES, final int FROM, final int TO, final Projection PROJECTION, final float[] COUNTS) {
+        final boolean SHOW_BAND = SERIES.getConfidenceIntervalVisible();
+        for (int i = FROM + 1 ; i < TO ; i++) {
+            final double X0 = PROJECTION.x(SERIES.getX(i - 1));
+            final double X1 = PROJECTION.x(SERIES.getX(i));
+            if (SHOW_BAND) {
+                addBandSegment(X0, PROJECTION.y(SERIES.getYMax(i - 1)), PROJECTION.y(SERIES.getYMin(i - 1)),
+                               X1, PROJECTION.y(SERIES.getYMax(i)), PROJECTION.y(SERIES.getYMin(i)), PROJECTION, COUNTS);
+            }
+            if (SERIES.isEmptyItem(i - 1) || SERIES.isEmptyItem(i)) { continue; }
+            addLine(X0, PROJECTION.y(SERIES.getY(i - 1)), X1, PROJECTION.y(SERIES.getY(i)), PROJECTION, COUNTS);
+        }
+    }
+
+    private static void addBandSegment(final double X0, final double U0, final double L0, final double X1, final double U1, final double L1,
+                                       final Projection PROJECTION, final float[] COUNTS) {
+        if (X0 == X1) { return; }
+        final int WIDTH       = PROJECTION.width;
+        final int HEIGHT      = PROJECTION.height;
+        final int COLUMN_FROM = Math.max(0, (int) Math.ceil(Math.min(X0, X1) - 0.5));
+        final int COLUMN_TO   = Math.min(WIDTH, (int) Math.ceil(Math.max(X0, X1) - 0.5));
+        for (int column = COLUMN_FROM ; column < COLUMN_TO ; column++) {
+            final double T      = (column + 0.5 - X0) / (X1 - X0);
+            final double UPPER  = U0 + T * (U1 - U0);
+            final double LOWER  = L0 + T * (L1 - L0);
+            final int    TOP    = Math.max(0, (int) Math.round(Math.min(UPPER, LOWER)));
+            final int    BOTTOM = Math.min(HEIGHT, (int) Math.round(Math.max(UPPER, LOWER)));
+            for (int row = TOP ; row < BOTTOM ; row++) { COUNTS[row * WIDTH + column] += BAND_WEIGHT; }
+        }
+    }
+
+    // The segment is clipped to the map (slab method) before it is stepped, far away off-screen points cost nothing extra
+    private static void addLine(final double X0, final double Y0, final double X1, final double Y1, final Projection PROJECTION, final float[] COUNTS) {
+        final double DX = X1 - X0;
+        final double DY = Y1 - Y0;
+        double tEnter = 0;
+        double tLeave = 1;
+        if (DX == 0) {
+            if (X0 < 0 || X0 >= PROJECTION.width) { return; }
+        } else {
+            final double T0 = -X0 / DX;
+            final double T1 = (PROJECTION.width - X0) / DX;
+            tEnter = Math.max(tEnter, Math.min(T0, T1));
+            tLeave = Math.min(tLeave, Math.max(T0, T1));
+        }
+        if (DY == 0) {
+            if (Y0 < 0 || Y0 >= PROJECTION.height) { return; }
+        } else {
+            final double T0 = -Y0 / DY;
+            final double T1 = (PROJECTION.height - Y0) / DY;
+            tEnter = Math.max(tEnter, Math.min(T0, T1));
+            tLeave = Math.min(tLeave, Math.max(T0, T1));
+        }
+        // Also false for NaN coordinates
+        if (!(tEnter <= tLeave)) { return; }
+        final double START_X = X0 + tEnter * DX;
+        final double START_Y = Y0 + tEnter * DY;
+        final double CLIP_DX = (tLeave - tEnter) * DX;
+        final double CLIP_DY = (tLeave - tEnter) * DY;
+        final int    STEPS   = (int) Math.ceil(Math.max(Math.abs(CLIP_DX), Math.abs(CLIP_DY)));
+        int lastIndex = -1;
+        for (int step = 0 ; step <= STEPS ; step++) {
+            final double T = STEPS == 0 ? 0 : (double) step / STEPS;
+            final int    X = (int) Math.floor(START_X + T * CLIP_DX);
+            final int    Y = (int) Math.floor(START_Y + T * CLIP_DY);
+            if (X < 0 || X >= PROJECTION.width || Y < 0 || Y >= PROJECTION.height) { continue; }
+            final int INDEX = Y * PROJECTION.width + X;
+            if (INDEX == lastIndex) { continue; }
+            lastIndex = INDEX;
+            COUNTS[INDEX] += LINE_WEIGHT;
+        }
+    }
+
+    private static int toPremultipliedArgb(final Color COLOR) {
+        final double OPACITY = COLOR.getOpacity();
+        return ((int) Math.round(OPACITY * 255) << 24) | ((int) Math.round(COLOR.getRed() * OPACITY * 255) << 16) |
+               ((int) Math.round(COLOR.getGreen() * OPACITY * 255) << 8) | (int) Math.round(COLOR.getBlue() * OPACITY * 255);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Projection {
+        private final int    width;
+        private final int    height;
+        private final double lowerBoundX;
+        private final double lowerBoundY;
+        private final double scaleX;
+        private final double scaleY;
+
+
+        Projection(final int WIDTH, final int HEIGHT, final double LOWER_BOUND_X, final double LOWER_BOUND_Y, final double SCALE_X, final double SCALE_Y) {
+            width       = WIDTH;
+            height      = HEIGHT;
+            lowerBoundX = LOWER_BOUND_X;
+            lowerBoundY = LOWER_BOUND_Y;
+            scaleX      = SCALE_X;
+            scaleY      = SCALE_Y;
+        }
+
+
+        double x(final double X) { return (X - lowerBoundX) * scaleX; }
+        double y(final double Y) { return height - (Y - lowerBoundY) * scaleY; }
+    }
+
+    // Splits the list of series into leaves, every leaf fills its own histogram and the halves are summed up into the first one on the way back
+    private static final class AccumulateTask extends RecursiveAction {
+        private static final long                                  serialVersionUID = 1L;
+        private        final List<? extends XYConfidenceSeries<?>> series;
+        private        final int[]                                 from;
+        private        final int[]                                 to;
+        private        final Projection                            projection;
+        private        final float[][]                             buffers;
+        private        final int                                   firstLeaf;
+        private        final int                                   lastLeaf;
+
+
+        AccumulateTask(final List<? extends XYConfidenceSeries<?>> SERIES, final int[] FROM, final int[] TO, final Projection PROJECTION,
+                       final float[][] BUFFERS, final int FIRST_LEAF, final int LAST_LEAF) {
+            series     = SERIES;
+            from       = FROM;
+            to         = TO;
+            projection = PROJECTION;
+            buffers    = BUFFERS;
+            firstLeaf  = FIRST_LEAF;
+            lastLeaf   = LAST_LEAF;
+        }
+
+
+        @Override protected void compute() {
+            if (lastLeaf - firstLeaf == 1) {
+                // Leaf k takes the series [k * n / leaves, (k + 1) * n / leaves)
+                final float[] COUNTS = buffers[firstLeaf];
+                final int     START  = (int) ((long) firstLeaf * series.size() / buffers.length);
+                final int     END    = (int) ((long) (firstLeaf + 1) * series.size() / buffers.length);
+                Arrays.fill(COUNTS, 0);
+                for (int i = START ; i < END ; i++) { accumulateSeries(series.get(i), from[i], to[i], projection, COUNTS); }
+                return;
+            }
+            final int            MID   = (firstLeaf + lastLeaf) >>> 1;
+            final AccumulateTask LEFT  = new AccumulateTask(series, from, to, projection, buffers, firstLeaf, MID);
+            final AccumulateTask RIGHT = new AccumulateTask(series, from, to, projection, buffers, MID, lastLeaf);
+            LEFT.fork();
+            RIGHT.compute();
+            LEFT.join();
+            final float[] LEFT_COUNTS  = buffers[firstLeaf];
+            final float[] RIGHT_COUNTS = buffers[MID];
+            for (int i = 0 ; i < LEFT_COUNTS.length ; i++) { LEFT_COUNTS[i] += RIGHT_COUNTS[i]; }
+        }
+    }
+}
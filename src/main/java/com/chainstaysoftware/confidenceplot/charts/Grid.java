@@ -16,6 +16,7 @@
 
 package com.chainstaysoftware.confidenceplot.charts;
 
+import com.chainstaysoftware.confidenceplot.charts.event.ChartEvt;
 import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
 import javafx.beans.DefaultProperty;
 import javafx.beans.property.BooleanProperty;
@@ -32,9 +33,6 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Paint;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 
 /**
  * User: hansolo
@@ -87,6 +85,8 @@ public class Grid extends Region {
     private              Canvas                canvas;
     private              GraphicsContext       ctx;
     private              Pane                  pane;
+    private              SnapshotProjection    projection;
+    private              Viewport              viewport;
 
 
     // ******************** Constructors **************************************
@@ -128,12 +128,17 @@ public class Grid extends Region {
 
         pane   = new Pane(canvas);
 
+        projection = new SnapshotProjection(this);
+
         getChildren().setAll(pane);
     }
 
     private void registerListeners() {
         widthProperty().addListener(o -> resize());
         heightProperty().addListener(o -> resize());
+        // The chart pins the viewport after it changed the axes, a later range change of an axis unpins it
+        xAxis.addChartEvtObserver(ChartEvt.AXIS_RANGE_CHANGED, evt -> viewport = null);
+        yAxis.addChartEvtObserver(ChartEvt.AXIS_RANGE_CHANGED, evt -> viewport = null);
         // add listeners to your propertes like
         //value.addListener(o -> handleControlPropertyChanged("VALUE"));
     }
@@ -440,6 +445,29 @@ public class Grid extends Region {
         drawGrid();
     }
 
+    // Without a viewport the grid follows the range of the axes
+    public Viewport getViewport() {
+        return null == viewport ? new Viewport(xAxis.getMinValue(), xAxis.getMaxValue(), yAxis.getMinValue(), yAxis.getMaxValue()) : viewport;
+    }
+    /**
+     * Draws the grid for the bounds of the given viewport, the tick spacing
+     * and colors still come from the axes. The grid follows the axes again
+     * once one of them changes its range.
+     */
+    public void setViewport(final Viewport VIEWPORT) {
+        viewport = VIEWPORT;
+        drawGrid();
+    }
+
+    // Stretches the last drawn grid to the given ranges until endPreview() is called
+    void previewRange(final double MIN_X, final double MAX_X, final double MIN_Y, final double MAX_Y) {
+        final Viewport DRAWN = getViewport();
+        projection.setRangeX(width, DRAWN.getLowerBoundX(), DRAWN.getUpperBoundX(), MIN_X, MAX_X);
+        projection.setRangeY(height, DRAWN.getLowerBoundY(), DRAWN.getUpperBoundY(), MIN_Y, MAX_Y);
+        projection.apply(canvas);
+    }
+    void endPreview() { projection.clear(canvas); }
+
     private void drawGrid() {
         ctx.clearRect(0, 0, width, height);
         ctx.setLineDashes(dashes);
@@ -456,48 +484,40 @@ public class Grid extends Region {
         Paint mediumVGridColor = null == getMediumVGridLinePaint() ? Helper.getColorWithOpacity(xAxis.getMediumTickMarkColor(), getGridOpacity()) : getMediumVGridLinePaint();
         Paint majorVGridColor  = null == getMinorVGridLinePaint()  ? Helper.getColorWithOpacity(xAxis.getMajorTickMarkColor(), getGridOpacity())  : getMinorVGridLinePaint();
 
+        Viewport bounds          = getViewport();
+
         AxisType xAxisType       = xAxis.getType();
-        double   minX            = xAxis.getMinValue();
-        double   maxX            = xAxis.getMaxValue();
+        double   minX            = bounds.getLowerBoundX();
+        double   maxX            = bounds.getUpperBoundX();
         boolean  fullRangeX      = (minX < 0 && maxX > 0);
         double   minorTickSpaceX = xAxis.getMinorTickSpace();
         double   majorTickSpaceX = xAxis.getMajorTickSpace();
-        double   rangeX          = xAxis.getRange();
+        double   rangeX          = bounds.getRangeX();
         double   stepSizeX       = Math.abs(width / rangeX);
         double   zeroPositionX   = xAxis.getZeroPosition();
 
         AxisType yAxisType       = yAxis.getType();
-        double   minY            = yAxis.getMinValue();
-        double   maxY            = yAxis.getMaxValue();
+        double   minY            = bounds.getLowerBoundY();
+        double   maxY            = bounds.getUpperBoundY();
         boolean  fullRangeY      = (minY < 0 && maxY > 0);
         double   minorTickSpaceY = yAxis.getMinorTickSpace();
         double   majorTickSpaceY = yAxis.getMajorTickSpace();
-        double   rangeY          = yAxis.getRange();
+        double   rangeY          = bounds.getRangeY();
         double   stepSizeY       = Math.abs(height / rangeY);
         double   zeroPositionY   = yAxis.getZeroPosition();
-        
-        BigDecimal minorTickSpaceBD = BigDecimal.valueOf(minorTickSpaceX);
-        BigDecimal majorTickSpaceBD = BigDecimal.valueOf(majorTickSpaceX);
-        BigDecimal mediumCheck2     = BigDecimal.valueOf(2 * minorTickSpaceX);
-        BigDecimal mediumCheck5     = BigDecimal.valueOf(5 * minorTickSpaceX);
 
-        // Main Loop for grid lines
         if (AxisType.LINEAR == xAxisType || AxisType.TEXT == xAxisType) {
             // ******************** Linear ************************************
-            boolean    isZero;
-            double     tmpStepSize = minorTickSpaceX;
-            BigDecimal counterBD   = BigDecimal.valueOf(minX);
-            double     counter     = minX;
-            BigDecimal tmpStepBD   = new BigDecimal(tmpStepSize);
-            tmpStepBD = tmpStepBD.setScale(3, RoundingMode.HALF_UP);
-            double tmpStep = tmpStepBD.doubleValue();
-            for (double i = 0; Double.compare(-rangeX - tmpStep, i) <= 0; i -= tmpStep) {
-                double startPointX = width + i * stepSizeX;
+            boolean  isZero;
+            TickPlan plan = TickPlan.of(minX, maxX, minorTickSpaceX, majorTickSpaceX);
+            for (int i = 0 ; i < plan.getNoOfTicks() ; i++) {
+                double counter     = plan.getValue(i);
+                double startPointX = width - (counter - minX) * stepSizeX;
                 double startPointY = 0;
                 double endPointX   = startPointX;
                 double endPointY   = height;
 
-                if (Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(majorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                if (plan.isMajor(i)) {
                     // Draw major tick grid line
                     isZero = Double.compare(0.0, maxX - counter + minX) == 0;
 
@@ -510,41 +530,35 @@ public class Grid extends Region {
                         ctx.setLineWidth(minorLineWidth);
                         ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
                     }
-                } else if (getMediumVGridLinesVisible() &&
-                           Double.compare(minorTickSpaceBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck2).doubleValue(), 0.0) != 0.0 &&
-                           Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck5).doubleValue(), 0.0) == 0.0) {
+                } else if (getMediumVGridLinesVisible() && plan.isMedium(i)) {
                     // Draw medium tick grid line
                     ctx.setStroke(mediumVGridColor);
                     ctx.setLineWidth(mediumLineWidth);
                     ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
-                } else if (getMinorVGridLinesVisible() && Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(minorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                } else if (getMinorVGridLinesVisible() && plan.isMinor(i)) {
                     // Draw minor tick grid line
                     ctx.setStroke(minorVGridColor);
                     ctx.setLineWidth(minorLineWidth);
                     ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
                 }
-
-                counterBD = counterBD.add(minorTickSpaceBD);
-                counter = counterBD.doubleValue();
-                if (counter > maxX) break;
             }
         } else if (AxisType.LOGARITHMIC == xAxisType) {
             // ******************** Logarithmic *******************************
-            double  logUpperBound         = Math.log10(xAxis.getMaxValue());
+            double  logUpperBound         = Math.log10(maxX);
             double  section               = width / logUpperBound;
             boolean majorTickMarksVisible = xAxis.getMajorTickMarksVisible();
             boolean minorTickMarksVisible = xAxis.getMinorTickMarksVisible();
 
             for (double i = 0; i <= logUpperBound; i += 1) {
                 for (double j = 1; j <= 9; j++) {
-                    BigDecimal value = new BigDecimal(j * Math.pow(10, i));
-                    double stepSize = i > 0 ? (Math.log10(value.doubleValue()) % i) : Math.log10(value.doubleValue());
+                    double value    = j * Math.pow(10, i);
+                    double stepSize = i > 0 ? (Math.log10(value) % i) : Math.log10(value);
                     double startPointX = i * section + (stepSize * section);
                     double startPointY = 0;
                     double endPointX   = startPointX;
                     double endPointY   = height;
 
-                    if (Helper.isPowerOf10(value.intValue())) {
+                    if (Helper.isPowerOf10((int) value)) {
                         if (majorTickMarksVisible) {
                             ctx.setStroke(majorVGridColor);
                             ctx.setLineWidth(majorLineWidth);
@@ -565,27 +579,18 @@ public class Grid extends Region {
         }
 
         
-        minorTickSpaceBD = BigDecimal.valueOf(minorTickSpaceY);
-        majorTickSpaceBD = BigDecimal.valueOf(majorTickSpaceY);
-        mediumCheck2     = BigDecimal.valueOf(2 * minorTickSpaceY);
-        mediumCheck5     = BigDecimal.valueOf(5 * minorTickSpaceY);
-
         if (AxisType.LINEAR == yAxisType || AxisType.TEXT == yAxisType) {
             // ******************** Linear ************************************
-            boolean    isZero;
-            double     tmpStepSize = minorTickSpaceY;
-            BigDecimal counterBD   = BigDecimal.valueOf(minY);
-            double     counter     = minY;
-            BigDecimal tmpStepBD   = new BigDecimal(tmpStepSize);
-            tmpStepBD = tmpStepBD.setScale(3, RoundingMode.HALF_UP);
-            double     tmpStep = tmpStepBD.doubleValue();
-            for (double i = 0; Double.compare(-rangeY - tmpStep, i) <= 0; i -= tmpStep) {
+            boolean  isZero;
+            TickPlan plan = TickPlan.of(minY, maxY, minorTickSpaceY, majorTickSpaceY);
+            for (int i = 0 ; i < plan.getNoOfTicks() ; i++) {
+                double counter     = plan.getValue(i);
                 double startPointX = 0;
-                double startPointY = height + i * stepSizeY;
+                double startPointY = height - (counter - minY) * stepSizeY;
                 double endPointX   = width;
                 double endPointY   = startPointY;
 
-                if (Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(majorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                if (plan.isMajor(i)) {
                     // Draw major tick grid line
                     isZero = Double.compare(0.0, counter) == 0;
 
@@ -598,27 +603,21 @@ public class Grid extends Region {
                         ctx.setLineWidth(minorLineWidth);
                         ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
                     }
-                } else if (getMediumHGridLinesVisible() &&
-                           Double.compare(minorTickSpaceBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck2).doubleValue(), 0.0) != 0.0 &&
-                           Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(mediumCheck5).doubleValue(), 0.0) == 0.0) {
+                } else if (getMediumHGridLinesVisible() && plan.isMedium(i)) {
                     // Draw medium tick grid line
                     ctx.setStroke(mediumHGridColor);
                     ctx.setLineWidth(mediumLineWidth);
                     ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
-                } else if (getMinorHGridLinesVisible() && Double.compare(counterBD.setScale(12, RoundingMode.HALF_UP).remainder(minorTickSpaceBD).doubleValue(), 0.0) == 0) {
+                } else if (getMinorHGridLinesVisible() && plan.isMinor(i)) {
                     // Draw minor tick grid line
                     ctx.setStroke(minorHGridColor);
                     ctx.setLineWidth(minorLineWidth);
                     ctx.strokeLine(startPointX, startPointY, endPointX, endPointY);
                 }
-
-                counterBD = counterBD.add(minorTickSpaceBD);
-                counter = counterBD.doubleValue();
-                if (counter > maxY) break;
             }
         } else if (AxisType.LOGARITHMIC == yAxisType) {
             // ******************** Logarithmic *******************************
-            double  logUpperBound         = Math.log10(yAxis.getMaxValue());
+            double  logUpperBound         = Math.log10(maxY);
             double  section               = height / logUpperBound;
             boolean majorTickMarksVisible = yAxis.getMajorTickMarksVisible();
             boolean minorTickMarksVisible = yAxis.getMinorTickMarksVisible();
@@ -626,14 +625,14 @@ public class Grid extends Region {
 
             for (double i = 0; i <= logUpperBound; i += 1) {
                 for (double j = 1; j <= 9; j++) {
-                    BigDecimal value = new BigDecimal(j * Math.pow(10, i));
-                    double stepSize = i > 0 ? (Math.log10(value.doubleValue()) % i) : Math.log10(value.doubleValue());
+                    double value    = j * Math.pow(10, i);
+                    double stepSize = i > 0 ? (Math.log10(value) % i) : Math.log10(value);
                     double startPointX = 0;
                     double startPointY = maxPosition - i * section - (stepSize * section);
                     double endPointX   = width;
                     double endPointY   = startPointY;
 
-                    if (Helper.isPowerOf10(value.intValue())) {
+                    if (Helper.isPowerOf10((int) value)) {
                         if (majorTickMarksVisible) {
                             ctx.setStroke(majorHGridColor);
                             ctx.setLineWidth(majorLineWidth);
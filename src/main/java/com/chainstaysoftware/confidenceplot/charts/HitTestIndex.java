@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import java.util.Arrays;
+
+
+/**
+ * Uniform grid over the screen positions of the hoverable symbols of a pane.
+ * Entries are added in any order, build() sorts them into cells (counting
+ * sort) and findNearest() only looks at the cells within the largest radius
+ * around the query point, so a lookup does not depend on the number of
+ * items and allocates nothing.
+ */
+final class HitTestIndex {
+    private static final double   MIN_CELL_SIZE = 8;
+    private              double[] xs;
+    private              double[] ys;
+    private              double[] radii;
+    private              int[]    seriesIndices;
+    private              int[]    itemIndices;
+    private              int      noOfEntries;
+    private              double   maxRadius;
+    private              double   cellSize;
+    private              int      columns;
+    private              int      rows;
+    private              int[]    cellStarts;
+    private              int[]    cellEntries;
+    private              boolean  valid;
+
+
+    // ******************** Constructors **************************************
+    HitTestIndex() {
+        xs            = new double[64];
+        ys            = new double[64];
+        radii         = new double[64];
+        seriesIndices = new int[64];
+        itemIndices   = new int[64];
+        cellStarts    = new int[1];
+        cellEntries   = new int[0];
+        valid         = false;
+    }
+
+
+    // ******************** Methods *******************************************
+    boolean isValid() { return valid; }
+
+    void invalidate() { valid = false; }
+
+    int getSeriesIndex(final int ENTRY) { return seriesIndices[ENTRY]; }
+    int getItemIndex(final int ENTRY) { return itemIndices[ENTRY]; }
+
+    void clear() {
+        noOfEntries = 0;
+        maxRadius   = 0;
+        valid       = false;
+    }
+
+    void add(final double X, final double Y, final double RADIUS, final int SERIES_INDEX, final int ITEM_INDEX) {
+        if (RADIUS <= 0) { return; }
+        if (noOfEntries == xs.length) {
+            final int CAPACITY = noOfEntries * 2;
+            xs            = Arrays.copyOf(xs, CAPACITY);
+            ys            = Arrays.copyOf(ys, CAPACITY);
+            radii         = Arrays.copyOf(radii, CAPACITY);
+            seriesIndices = Arrays.copyOf(seriesIndices, CAPACITY);
+            itemIndices   = Arrays.copyOf(itemIndices, CAPACITY);
+        }
+        xs[noOfEntries]            = X;
+        ys[noOfEntries]            = Y;
+        radii[noOfEntries]         = RADIUS;
+        seriesIndices[noOfEntries] = SERIES_INDEX;
+        itemIndices[noOfEntries]   = ITEM_INDEX;
+        noOfEntries++;
+        maxRadius = Math.max(maxRadius, RADIUS);
+    }
+
+    // Entries outside of the area end up in the border cells
+    void build(final double WIDTH, final double HEIGHT) {
+        cellSize = Math.max(MIN_CELL_SIZE, 2 * maxRadius);
+        columns  = Math.max(1, (int) Math.ceil(WIDTH / cellSize));
+        rows     = Math.max(1, (int) Math.ceil(HEIGHT / cellSize));
+        final int NO_OF_CELLS = columns * rows;
+        if (cellStarts.length < NO_OF_CELLS + 1) { cellStarts = new int[NO_OF_CELLS + 1]; }
+        if (cellEntries.length < noOfEntries) { cellEntries = new int[noOfEntries]; }
+        Arrays.fill(cellStarts, 0, NO_OF_CELLS + 1, 0);
+        for (int i = 0 ; i < noOfEntries ; i++) { cellStarts[cellOf(xs[i], ys[i]) + 1]++; }
+        for (int cell = 0 ; cell < NO_OF_CELLS ; cell++) { cellStarts[cell + 1] += cellStarts[cell]; }
+        final int[] NEXT = Arrays.copyOf(cellStarts, NO_OF_CELLS);
+        for (int i = 0 ; i < noOfEntries ; i++) { cellEntries[NEXT[cellOf(xs[i], ys[i])]++] = i; }
+        valid = true;
+    }
+
+    /**
+     * Returns the entry closest to the given point that contains it within
+     * its radius or -1 if there is none.
+     */
+    int findNearest(final double X, final double Y) {
+        if (!valid || noOfEntries == 0) { return -1; }
+        final int COLUMN_FROM = column(X - maxRadius);
+        final int COLUMN_TO   = column(X + maxRadius);
+        final int ROW_FROM    = row(Y - maxRadius);
+        final int ROW_TO      = row(Y + maxRadius);
+        int    nearest         = -1;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int row = ROW_FROM ; row <= ROW_TO ; row++) {
+            for (int column = COLUMN_FROM ; column <= COLUMN_TO ; column++) {
+                final int CELL = row * columns + column;
+                for (int i = cellStarts[CELL] ; i < cellStarts[CELL + 1] ; i++) {
+                    final int    ENTRY    = cellEntries[i];
+                    final double DX       = xs[ENTRY] - X;
+                    final double DY       = ys[ENTRY] - Y;
+                    final double DISTANCE = DX * DX + DY * DY;
+                    if (DISTANCE <= radii[ENTRY] * radii[ENTRY] && DISTANCE < nearestDistance) {
+                        nearest         = ENTRY;
+                        nearestDistance = DISTANCE;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private int cellOf(final double X, final double Y) { return row(Y) * columns + column(X); }
+
+    private int column(final double X) { return Math.max(0, Math.min(columns - 1, (int) Math.floor(X / cellSize))); }
+
+    private int row(final double Y) { return Math.max(0, Math.min(rows - 1, (int) Math.floor(Y / cellSize))); }
+}
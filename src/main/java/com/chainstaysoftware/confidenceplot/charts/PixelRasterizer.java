@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Small software rasterizer for the PIXEL_BUFFER backend. Primitives are
+ * recorded in drawing order into a display list, rasterize() then sorts the
+ * primitives into strips of rows by their vertical extent and renders the
+ * strips in parallel on the common ForkJoin pool. Every strip replays only
+ * the primitives that touch it, in recording order, so the z-order is kept.
+ * Coordinates are given in chart units and multiplied by the render scale,
+ * pixels are premultiplied ARGB, only Color paints are supported, other
+ * paints are drawn gray.
+ */
+final class PixelRasterizer {
+    private static final int      BAND_SEGMENT    = 0;
+    private static final int      POLYLINE        = 1;
+    private static final int      CIRCLE          = 2;
+    private static final int      SQUARE          = 3;
+    private static final int      TRIANGLE        = 4;
+    private static final int      OVERLAY         = 5;
+    private static final int      ARGS_PER_OP     = 6;
+    private static final int      ROWS_PER_STRIP  = 32;
+    private static final int      POINTS_PER_OP   = 32;
+    private              int[]    pixels;
+    private              int      width;
+    private              int      height;
+    private              double   scale;
+    private              int      background;
+    private              int[]    ops;
+    private              double[] args;
+    private              int[]    colors;
+    private              int[]    tops;
+    private              int[]    bottoms;
+    private              int      noOfOps;
+    private              double[] points;
+    private              int      noOfPoints;
+    private              int      polylineStart;
+    private              double   polylineWidth;
+    private              int      polylineColor;
+    private              int      noOfPolylines;
+    private              int[]    stamps;
+    private              int[]    stripStarts;
+    private              int[]    stripOps;
+    private              int[]    overlay;
+
+
+    // ******************** Constructors **************************************
+    PixelRasterizer() {
+        pixels        = new int[0];
+        stamps        = new int[0];
+        scale         = 1;
+        ops           = new int[256];
+        args          = new double[256 * ARGS_PER_OP];
+        colors        = new int[256 * 2];
+        tops          = new int[256];
+        bottoms       = new int[256];
+        points        = new double[1024];
+        polylineStart = -1;
+        stripStarts   = new int[1];
+        stripOps      = new int[256];
+    }
+
+
+    // ******************** Methods *******************************************
+    int[] getPixels() { return pixels; }
+
+    int getWidth() { return width; }
+    int getHeight() { return height; }
+
+    /**
+     * Clears the display list and resizes the pixel array if needed. Width
+     * and height are in pixels, the scale converts chart units into pixels.
+     * Returns true if a new pixel array was created.
+     */
+    boolean reset(final int WIDTH, final int HEIGHT, final double SCALE, final Paint BACKGROUND) {
+        noOfOps       = 0;
+        noOfPoints    = 0;
+        noOfPolylines = 0;
+        polylineStart = -1;
+        overlay       = null;
+        scale         = SCALE;
+        background    = toArgb(BACKGROUND);
+        if (WIDTH == width && HEIGHT == height) { return false; }
+        width  = WIDTH;
+        height = HEIGHT;
+        pixels = new int[Math.max(1, WIDTH * HEIGHT)];
+        stamps = new int[pixels.length];
+        return true;
+    }
+
+    // Vertical strip of a confidence band between two consecutive points, UPPER/LOWER are screen y values
+    void bandSegment(final double X0, final double UPPER0, final double LOWER0, final double X1, final double UPPER1, final double LOWER1, final Paint FILL) {
+        final double TOP    = Math.min(Math.min(UPPER0, LOWER0), Math.min(UPPER1, LOWER1)) * scale;
+        final double BOTTOM = Math.max(Math.max(UPPER0, LOWER0), Math.max(UPPER1, LOWER1)) * scale;
+        add(BAND_SEGMENT, TOP, BOTTOM, X0 * scale, UPPER0 * scale, LOWER0 * scale, X1 * scale, UPPER1 * scale, LOWER1 * scale, toArgb(FILL), 0);
+    }
+
+    /**
+     * Starts a connected line. Pixels where segments of the same polyline
+     * overlap are only blended once, so translucent strokes have no darker
+     * joints.
+     */
+    void beginPolyline(final double LINE_WIDTH, final Paint STROKE) {
+        if (polylineStart > -1) { endPolyline(); }
+        noOfPolylines++;
+        polylineStart = noOfPoints;
+        polylineWidth = Math.max(1, Math.round(LINE_WIDTH * scale));
+        polylineColor = toArgb(STROKE);
+    }
+
+    void lineTo(final double X, final double Y) {
+        if (noOfPoints * 2 + 2 > points.length) { points = Arrays.copyOf(points, points.length * 2); }
+        points[noOfPoints * 2]     = X * scale;
+        points[noOfPoints * 2 + 1] = Y * scale;
+        noOfPoints++;
+        // Long polylines are split into chunks that share their end points, so a strip only visits the chunks that touch it
+        if (noOfPoints - polylineStart == POINTS_PER_OP) {
+            addPolyline(polylineStart, noOfPoints);
+            polylineStart = noOfPoints - 1;
+        }
+    }
+
+    void endPolyline() {
+        if (polylineStart < 0) { return; }
+        if (noOfPoints - polylineStart > 1) { addPolyline(polylineStart, noOfPoints); }
+        polylineStart = -1;
+    }
+
+    void line(final double X0, final double Y0, final double X1, final double Y1, final double LINE_WIDTH, final Paint STROKE) {
+        beginPolyline(LINE_WIDTH, STROKE);
+        lineTo(X0, Y0);
+        lineTo(X1, Y1);
+        endPolyline();
+    }
+
+    void symbol(final double X, final double Y, final Symbol SYMBOL, final double SIZE, final Paint FILL, final Paint STROKE) {
+        final double HALF = SIZE * 0.5;
+        switch (SYMBOL) {
+            case NONE     -> { }
+            case SQUARE   -> addSymbol(SQUARE, X, Y, HALF, FILL, STROKE);
+            case TRIANGLE -> addSymbol(TRIANGLE, X, Y, HALF, FILL, STROKE);
+            case STAR     -> {
+                line(X - HALF, Y, X + HALF, Y, 1, STROKE);
+                line(X, Y - HALF, X, Y + HALF, 1, STROKE);
+                line(X - HALF, Y - HALF, X + HALF, Y + HALF, 1, STROKE);
+                line(X + HALF, Y - HALF, X - HALF, Y + HALF, 1, STROKE);
+            }
+            case CROSS    -> {
+                line(X - HALF, Y, X + HALF, Y, 1, STROKE);
+                line(X, Y - HALF, X, Y + HALF, 1, STROKE);
+            }
+            default       -> addSymbol(CIRCLE, X, Y, HALF, FILL, STROKE);
+        }
+    }
+
+    // Blends a premultiplied ARGB image of the same size as the raster, only one overlay per frame
+    void overlay(final int[] PIXELS) {
+        overlay = PIXELS;
+        add(OVERLAY, 0, height, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    // Renders the display list into the pixel array, strips of rows run in parallel
+    void rasterize() {
+        if (width == 0 || height == 0) { return; }
+        endPolyline();
+        final int NO_OF_STRIPS = (height + ROWS_PER_STRIP - 1) / ROWS_PER_STRIP;
+        binOps(NO_OF_STRIPS);
+        ForkJoinPool.commonPool().invoke(new StripTask(0, NO_OF_STRIPS));
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void addSymbol(final int OP, final double X, final double Y, final double HALF, final Paint FILL, final Paint STROKE) {
+        add(OP, (Y - HALF) * scale, (Y + HALF) * scale, X * scale, Y * scale, HALF * scale, 0, 0, 0, toArgb(FILL), toArgb(STROKE));
+    }
+
+    // Points from FROM (inclusive) to TO (exclusive) of the current polyline
+    private void addPolyline(final int FROM, final int TO) {
+        double top    = Double.POSITIVE_INFINITY;
+        double bottom = Double.NEGATIVE_INFINITY;
+        for (int i = FROM ; i < TO ; i++) {
+            top    = Math.min(top, points[i * 2 + 1]);
+            bottom = Math.max(bottom, points[i * 2 + 1]);
+        }
+        final double HALF = polylineWidth * 0.5;
+        add(POLYLINE, top - HALF, bottom + HALF, FROM, TO, polylineWidth, noOfPolylines, 0, 0, polylineColor, 0);
+    }
+
+    // TOP and BOTTOM are the vertical extent in pixels, used to sort the op into strips
+    private void add(final int OP, final double TOP, final double BOTTOM, final double A0, final double A1, final double A2, final double A3, final double A4, final double A5,
+                     final int COLOR0, final int COLOR1) {
+        if (noOfOps == ops.length) {
+            ops     = Arrays.copyOf(ops, noOfOps * 2);
+            args    = Arrays.copyOf(args, noOfOps * 2 * ARGS_PER_OP);
+            colors  = Arrays.copyOf(colors, noOfOps * 4);
+            tops    = Arrays.copyOf(tops, noOfOps * 2);
+            bottoms = Arrays.copyOf(bottoms, noOfOps * 2);
+        }
+        final int OFFSET = noOfOps * ARGS_PER_OP;
+        ops[noOfOps]       = OP;
+        args[OFFSET]       = A0;
+        args[OFFSET + 1]   = A1;
+        args[OFFSET + 2]   = A2;
+        args[OFFSET + 3]   = A3;
+        args[OFFSET + 4]   = A4;
+        args[OFFSET + 5]   = A5;
+        colors[noOfOps * 2]     = COLOR0;
+        colors[noOfOps * 2 + 1] = COLOR1;
+        // One pixel of slack for rounding, NaN coordinates end up outside of the raster
+        tops[noOfOps]    = TOP >= -1 ? (int) Math.floor(TOP) - 1 : Integer.MIN_VALUE;
+        bottoms[noOfOps] = BOTTOM <= height + 1 ? (int) Math.ceil(BOTTOM) + 1 : Integer.MAX_VALUE;
+        if (Double.isNaN(TOP) || Double.isNaN(BOTTOM)) { bottoms[noOfOps] = tops[noOfOps]; }
+        noOfOps++;
+    }
+
+    // Counting sort of the ops by strip, each strip keeps the ops in recording order
+    private void binOps(final int NO_OF_STRIPS) {
+        if (stripStarts.length < NO_OF_STRIPS + 1) { stripStarts = new int[NO_OF_STRIPS + 1]; }
+        Arrays.fill(stripStarts, 0, NO_OF_STRIPS + 1, 0);
+        for (int op = 0 ; op < noOfOps ; op++) {
+            if (bottoms[op] <= Math.max(0, tops[op]) || tops[op] >= height) { continue; }
+            final int FIRST_STRIP = Math.max(0, tops[op]) / ROWS_PER_STRIP;
+            final int LAST_STRIP  = (Math.min(height, bottoms[op]) - 1) / ROWS_PER_STRIP;
+            for (int strip = FIRST_STRIP ; strip <= LAST_STRIP ; strip++) { stripStarts[strip + 1]++; }
+        }
+        for (int strip = 0 ; strip < NO_OF_STRIPS ; strip++) { stripStarts[strip + 1] += stripStarts[strip]; }
+        if (stripOps.length < stripStarts[NO_OF_STRIPS]) { stripOps = new int[stripStarts[NO_OF_STRIPS]]; }
+        final int[] NEXT = Arrays.copyOf(stripStarts, NO_OF_STRIPS);
+        for (int op = 0 ; op < noOfOps ; op++) {
+            if (bottoms[op] <= Math.max(0, tops[op]) || tops[op] >= height) { continue; }
+            final int FIRST_STRIP = Math.max(0, tops[op]) / ROWS_PER_STRIP;
+            final int LAST_STRIP  = (Math.min(height, bottoms[op]) - 1) / ROWS_PER_STRIP;
+            for (int strip = FIRST_STRIP ; strip <= LAST_STRIP ; strip++) { stripOps[NEXT[strip]++] = op; }
+        }
+    }
+
+    private void renderStrip(final int STRIP) {
+        final int ROW_FROM = STRIP * ROWS_PER_STRIP;
+        final int ROW_TO   = Math.min(height, ROW_FROM + ROWS_PER_STRIP);
+        Arrays.fill(pixels, ROW_FROM * width, ROW_TO * width, background);
+        Arrays.fill(stamps, ROW_FROM * width, ROW_TO * width, 0);
+        for (int i = stripStarts[STRIP] ; i < stripStarts[STRIP + 1] ; i++) {
+            final int op = stripOps[i];
+            final int O  = op * ARGS_PER_OP;
+            switch (ops[op]) {
+                case BAND_SEGMENT -> renderBandSegment(args[O], args[O + 1], args[O + 2], args[O + 3], args[O + 4], args[O + 5], colors[op * 2], ROW_FROM, ROW_TO);
+                case POLYLINE     -> renderPolyline((int) args[O], (int) args[O + 1], (int) args[O + 2], (int) args[O + 3], colors[op * 2], ROW_FROM, ROW_TO);
+                case CIRCLE       -> renderCircle(args[O], args[O + 1], args[O + 2], colors[op * 2], colors[op * 2 + 1], ROW_FROM, ROW_TO);
+                case SQUARE       -> renderSquare(args[O], args[O + 1], args[O + 2], colors[op * 2], colors[op * 2 + 1], ROW_FROM, ROW_TO);
+                case TRIANGLE     -> renderTriangle(args[O], args[O + 1], args[O + 2], colors[op * 2], colors[op * 2 + 1], ROW_FROM, ROW_TO);
+                case OVERLAY      -> renderOverlay(ROW_FROM, ROW_TO);
+            }
+        }
+    }
+
+    private void renderOverlay(final int ROW_FROM, final int ROW_TO) {
+        if (null == overlay || overlay.length < width * height) { return; }
+        for (int index = ROW_FROM * width ; index < ROW_TO * width ; index++) {
+            if (overlay[index] != 0) { blend(index, overlay[index]); }
+        }
+    }
+
+    // Each pixel column whose center lies in [x0, x1) gets the interpolated span between upper and lower
+    private void renderBandSegment(final double X0, final double U0, final double L0, final double X1, final double U1, final double L1,
+                                   final int COLOR, final int ROW_FROM, final int ROW_TO) {
+        if (X0 == X1 || (COLOR >>> 24) == 0) { return; }
+        final boolean FORWARD = X0 < X1;
+        final double  LEFT    = FORWARD ? X0 : X1;
+        final double  RIGHT   = FORWARD ? X1 : X0;
+        final int     COLUMN_FROM = Math.max(0, (int) Math.ceil(LEFT - 0.5));
+        final int     COLUMN_TO   = Math.min(width, (int) Math.ceil(RIGHT - 0.5));
+        for (int column = COLUMN_FROM ; column < COLUMN_TO ; column++) {
+            final double T      = (column + 0.5 - X0) / (X1 - X0);
+            final double UPPER  = U0 + T * (U1 - U0);
+            final double LOWER  = L0 + T * (L1 - L0);
+            final int    TOP    = Math.max(ROW_FROM, (int) Math.round(Math.min(UPPER, LOWER)));
+            final int    BOTTOM = Math.min(ROW_TO, (int) Math.round(Math.max(UPPER, LOWER)));
+            for (int row = TOP ; row < BOTTOM ; row++) { blend(row * width + column, COLOR); }
+        }
+    }
+
+    // The stamp is the polyline number, pixels that already carry it are not blended again
+    private void renderPolyline(final int FROM, final int TO, final int LINE_WIDTH, final int STAMP, final int COLOR, final int ROW_FROM, final int ROW_TO) {
+        if ((COLOR >>> 24) == 0) { return; }
+        for (int i = FROM + 1 ; i < TO ; i++) {
+            renderLine(points[(i - 1) * 2], points[(i - 1) * 2 + 1], points[i * 2], points[i * 2 + 1], LINE_WIDTH, STAMP, COLOR, ROW_FROM, ROW_TO);
+        }
+    }
+
+    /**
+     * DDA line with a square brush. The segment is clipped (slab method) to
+     * the raster columns and the given rows widened by the brush first, so
+     * far away off-screen points cost no more than the visible part.
+     */
+    private void renderLine(final double X0, final double Y0, final double X1, final double Y1, final int LINE_WIDTH, final int STAMP,
+                            final int COLOR, final int ROW_FROM, final int ROW_TO) {
+        if ((COLOR >>> 24) == 0) { return; }
+        final int    HALF  = LINE_WIDTH / 2;
+        final double MIN_X = -HALF - 1;
+        final double MAX_X = width + HALF + 1;
+        final double MIN_Y = ROW_FROM - HALF - 1;
+        final double MAX_Y = ROW_TO + HALF + 1;
+        final double DX    = X1 - X0;
+        final double DY    = Y1 - Y0;
+        double tEnter = 0;
+        double tLeave = 1;
+        if (DX == 0) {
+            if (X0 < MIN_X || X0 > MAX_X) { return; }
+        } else {
+            final double T0 = (MIN_X - X0) / DX;
+            final double T1 = (MAX_X - X0) / DX;
+            tEnter = Math.max(tEnter, Math.min(T0, T1));
+            tLeave = Math.min(tLeave, Math.max(T0, T1));
+        }
+        if (DY == 0) {
+            if (Y0 < MIN_Y || Y0 > MAX_Y) { return; }
+        } else {
+            final double T0 = (MIN_Y - Y0) / DY;
+            final double T1 = (MAX_Y - Y0) / DY;
+            tEnter = Math.max(tEnter, Math.min(T0, T1));
+            tLeave = Math.min(tLeave, Math.max(T0, T1));
+        }
+        // Also false for NaN coordinates
+        if (!(tEnter <= tLeave)) { return; }
+        final double START_X = X0 + tEnter * DX;
+        final double START_Y = Y0 + tEnter * DY;
+        final double CLIP_DX = (tLeave - tEnter) * DX;
+        final double CLIP_DY = (tLeave - tEnter) * DY;
+        final int    STEPS   = (int) Math.ceil(Math.max(Math.abs(CLIP_DX), Math.abs(CLIP_DY)));
+        int lastX = Integer.MIN_VALUE;
+        int lastY = Integer.MIN_VALUE;
+        for (int step = 0 ; step <= STEPS ; step++) {
+            final double T = STEPS == 0 ? 0 : (double) step / STEPS;
+            final int    X = (int) Math.floor(START_X + T * CLIP_DX);
+            final int    Y = (int) Math.floor(START_Y + T * CLIP_DY);
+            if (X == lastX && Y == lastY) { continue; }
+            lastX = X;
+            lastY = Y;
+            final int ROW_START = Math.max(ROW_FROM, Y - HALF);
+            final int ROW_END   = Math.min(ROW_TO, Y - HALF + LINE_WIDTH);
+            for (int row = ROW_START ; row < ROW_END ; row++) { stampSpan(row, X - HALF, X - HALF + LINE_WIDTH, STAMP, COLOR); }
+        }
+    }
+
+    private void renderCircle(final double X, final double Y, final double RADIUS, final int FILL, final int STROKE, final int ROW_FROM, final int ROW_TO) {
+        final int TOP    = Math.max(ROW_FROM, (int) Math.floor(Y - RADIUS));
+        final int BOTTOM = Math.min(ROW_TO, (int) Math.ceil(Y + RADIUS));
+        for (int row = TOP ; row < BOTTOM ; row++) {
+            final double DY    = row + 0.5 - Y;
+            final double OUTER = RADIUS * RADIUS - DY * DY;
+            if (OUTER < 0) { continue; }
+            final double HALF_OUTER = Math.sqrt(OUTER);
+            final double INNER      = (RADIUS - scale) * (RADIUS - scale) - DY * DY;
+            final double HALF_INNER = INNER > 0 ? Math.sqrt(INNER) : 0;
+            final int    LEFT       = (int) Math.round(X - HALF_OUTER);
+            final int    RIGHT      = (int) Math.round(X + HALF_OUTER);
+            final int    INNER_LEFT  = INNER > 0 ? (int) Math.round(X - HALF_INNER) : RIGHT;
+            final int    INNER_RIGHT = INNER > 0 ? (int) Math.round(X + HALF_INNER) : RIGHT;
+            fillSpan(row, LEFT, INNER_LEFT, STROKE);
+            fillSpan(row, INNER_LEFT, INNER_RIGHT, FILL);
+            fillSpan(row, INNER_RIGHT, RIGHT, STROKE);
+        }
+    }
+
+    private void renderSquare(final double X, final double Y, final double HALF, final int FILL, final int STROKE, final int ROW_FROM, final int ROW_TO) {
+        final int LEFT   = (int) Math.round(X - HALF);
+        final int RIGHT  = (int) Math.round(X + HALF);
+        final int TOP    = (int) Math.round(Y - HALF);
+        final int BOTTOM = (int) Math.round(Y + HALF);
+        final int BORDER = (int) Math.max(1, Math.round(scale));
+        fillRect(LEFT + BORDER, TOP + BORDER, RIGHT - BORDER, BOTTOM - BORDER, FILL, ROW_FROM, ROW_TO);
+        fillRect(LEFT, TOP, RIGHT, TOP + BORDER, STROKE, ROW_FROM, ROW_TO);
+        fillRect(LEFT, BOTTOM - BORDER, RIGHT, BOTTOM, STROKE, ROW_FROM, ROW_TO);
+        fillRect(LEFT, TOP + BORDER, LEFT + BORDER, BOTTOM - BORDER, STROKE, ROW_FROM, ROW_TO);
+        fillRect(RIGHT - BORDER, TOP + BORDER, RIGHT, BOTTOM - BORDER, STROKE, ROW_FROM, ROW_TO);
+    }
+
+    // Apex at the top like the canvas symbol, outlined with the stroke
+    private void renderTriangle(final double X, final double Y, final double HALF, final int FILL, final int STROKE, final int ROW_FROM, final int ROW_TO) {
+        final int TOP    = Math.max(ROW_FROM, (int) Math.round(Y - HALF));
+        final int BOTTOM = Math.min(ROW_TO, (int) Math.round(Y + HALF));
+        for (int row = TOP ; row < BOTTOM ; row++) {
+            final double SPAN = (row + 0.5 - (Y - HALF)) * 0.5;
+            fillSpan(row, (int) Math.round(X - SPAN), (int) Math.round(X + SPAN), FILL);
+        }
+        final int BORDER = (int) Math.max(1, Math.round(scale));
+        renderLine(X, Y - HALF, X + HALF, Y + HALF, BORDER, 0, STROKE, ROW_FROM, ROW_TO);
+        renderLine(X + HALF, Y + HALF, X - HALF, Y + HALF, BORDER, 0, STROKE, ROW_FROM, ROW_TO);
+        renderLine(X - HALF, Y + HALF, X, Y - HALF, BORDER, 0, STROKE, ROW_FROM, ROW_TO);
+    }
+
+    private void fillRect(final int LEFT, final int TOP, final int RIGHT, final int BOTTOM, final int COLOR, final int ROW_FROM, final int ROW_TO) {
+        final int ROW_START = Math.max(Math.max(0, ROW_FROM), TOP);
+        final int ROW_END   = Math.min(Math.min(height, ROW_TO), BOTTOM);
+        for (int row = ROW_START ; row < ROW_END ; row++) { fillSpan(row, LEFT, RIGHT, COLOR); }
+    }
+
+    private void fillSpan(final int ROW, final int LEFT, final int RIGHT, final int COLOR) {
+        if ((COLOR >>> 24) == 0 || ROW < 0 || ROW >= height) { return; }
+        final int FROM   = Math.max(0, LEFT);
+        final int TO     = Math.min(width, RIGHT);
+        final int OFFSET = ROW * width;
+        for (int column = FROM ; column < TO ; column++) { blend(OFFSET + column, COLOR); }
+    }
+
+    // Like fillSpan() but skips pixels that already carry the stamp, a stamp of 0 blends every pixel
+    private void stampSpan(final int ROW, final int LEFT, final int RIGHT, final int STAMP, final int COLOR) {
+        if (STAMP == 0) {
+            fillSpan(ROW, LEFT, RIGHT, COLOR);
+            return;
+        }
+        if (ROW < 0 || ROW >= height) { return; }
+        final int FROM   = Math.max(0, LEFT);
+        final int TO     = Math.min(width, RIGHT);
+        final int OFFSET = ROW * width;
+        for (int column = FROM ; column < TO ; column++) {
+            if (stamps[OFFSET + column] == STAMP) { continue; }
+            stamps[OFFSET + column] = STAMP;
+            blend(OFFSET + column, COLOR);
+        }
+    }
+
+    // Source over for premultiplied ARGB
+    private void blend(final int INDEX, final int COLOR) {
+        final int ALPHA = COLOR >>> 24;
+        if (ALPHA == 255) {
+            pixels[INDEX] = COLOR;
+            return;
+        }
+        final int DST     = pixels[INDEX];
+        final int INVERSE = 255 - ALPHA;
+        final int A = ALPHA + ((DST >>> 24) * INVERSE + 127) / 255;
+        final int R = ((COLOR >> 16) & 0xFF) + (((DST >> 16) & 0xFF) * INVERSE + 127) / 255;
+        final int G = ((COLOR >> 8) & 0xFF) + (((DST >> 8) & 0xFF) * INVERSE + 127) / 255;
+        final int B = (COLOR & 0xFF) + ((DST & 0xFF) * INVERSE + 127) / 255;
+        pixels[INDEX] = (A << 24) | (R << 16) | (G << 8) | B;
+    }
+
+    private static int toArgb(final Paint PAINT) {
+        final Color  COLOR   = PAINT instanceof Color ? (Color) PAINT : null == PAINT ? Color.TRANSPARENT : Color.GRAY;
+        final double OPACITY = COLOR.getOpacity();
+        final int    A       = (int) Math.round(OPACITY * 255);
+        final int    R       = (int) Math.round(COLOR.getRed() * OPACITY * 255);
+        final int    G       = (int) Math.round(COLOR.getGreen() * OPACITY * 255);
+        final int    B       = (int) Math.round(COLOR.getBlue() * OPACITY * 255);
+        return (A << 24) | (R << 16) | (G << 8) | B;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private final class StripTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private        final int  stripFrom;
+        private        final int  stripTo;
+
+
+        StripTask(final int STRIP_FROM, final int STRIP_TO) {
+            stripFrom = STRIP_FROM;
+            stripTo   = STRIP_TO;
+        }
+
+
+        @Override protected void compute() {
+            if (stripTo - stripFrom == 1) {
+                renderStrip(stripFrom);
+            } else {
+                final int MID = (stripFrom + stripTo) >>> 1;
+                invokeAll(new StripTask(stripFrom, MID), new StripTask(MID, stripTo));
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
+
+import java.util.Objects;
+
+
+/**
+ * Screen space geometry of one series, the confidence band as closed
+ * polygon and the line as vertices with a move flag for gaps. It is
+ * computed off the FX application thread from a copy of the visible items,
+ * the FX thread only replays it into the GraphicsContext.
+ */
+final class ScreenGeometry {
+    private final Key       key;
+    private final double[]  bandX;
+    private final double[]  bandY;
+    private final int       noOfBandPoints;
+    private final double[]  lineX;
+    private final double[]  lineY;
+    private final boolean[] moveTo;
+    private final int       noOfLinePoints;
+
+
+    // ******************** Constructors **************************************
+    private ScreenGeometry(final Key KEY, final double[] BAND_X, final double[] BAND_Y, final int NO_OF_BAND_POINTS,
+                           final double[] LINE_X, final double[] LINE_Y, final boolean[] MOVE_TO, final int NO_OF_LINE_POINTS) {
+        key            = KEY;
+        bandX          = BAND_X;
+        bandY          = BAND_Y;
+        noOfBandPoints = NO_OF_BAND_POINTS;
+        lineX          = LINE_X;
+        lineY          = LINE_Y;
+        moveTo         = MOVE_TO;
+        noOfLinePoints = NO_OF_LINE_POINTS;
+    }
+
+
+    // ******************** Methods *******************************************
+    Key getKey() { return key; }
+
+    int getNoOfBandPoints() { return noOfBandPoints; }
+    double getBandX(final int INDEX) { return bandX[INDEX]; }
+    double getBandY(final int INDEX) { return bandY[INDEX]; }
+
+    int getNoOfLinePoints() { return noOfLinePoints; }
+    double getLineX(final int INDEX) { return lineX[INDEX]; }
+    double getLineY(final int INDEX) { return lineY[INDEX]; }
+    boolean isMoveTo(final int INDEX) { return moveTo[INDEX]; }
+
+    /**
+     * Computes the geometry from the given copies of the visible items, safe
+     * to call on any thread.
+     */
+    static ScreenGeometry compute(final Key KEY, final double[] X, final double[] Y, final double[] Y_MIN, final double[] Y_MAX,
+                                  final boolean[] EMPTY, final int NO_OF_ITEMS, final int SUB_DIVISIONS) {
+        double[] x          = X;
+        double[] y          = Y;
+        double[] yMin       = Y_MIN;
+        double[] yMax       = Y_MAX;
+        int      noOfPoints = NO_OF_ITEMS;
+        if (KEY.smooth && NO_OF_ITEMS > 1) {
+            noOfPoints = (NO_OF_ITEMS - 1) * SUB_DIVISIONS + 1;
+            x          = new double[noOfPoints];
+            y          = new double[noOfPoints];
+            yMin       = new double[noOfPoints];
+            yMax       = new double[noOfPoints];
+            Helper.subdivideValues(X, NO_OF_ITEMS, SUB_DIVISIONS, x);
+            Helper.subdivideValues(Y, NO_OF_ITEMS, SUB_DIVISIONS, y);
+            Helper.subdivideValues(Y_MIN, NO_OF_ITEMS, SUB_DIVISIONS, yMin);
+            Helper.subdivideValues(Y_MAX, NO_OF_ITEMS, SUB_DIVISIONS, yMax);
+        }
+
+        final double[]  BAND_X  = new double[noOfPoints * 2];
+        final double[]  BAND_Y  = new double[noOfPoints * 2];
+        final double[]  LINE_X  = new double[noOfPoints];
+        final double[]  LINE_Y  = new double[noOfPoints];
+        final boolean[] MOVE_TO = new boolean[noOfPoints];
+        for (int i = 0 ; i < noOfPoints ; i++) {
+            final double SCREEN_X = (x[i] - KEY.lowerBoundX) * KEY.scaleX;
+            final int    LOWER    = 2 * noOfPoints - 1 - i;
+            BAND_X[i]     = SCREEN_X;
+            BAND_Y[i]     = KEY.height - (yMax[i] - KEY.lowerBoundY) * KEY.scaleY;
+            BAND_X[LOWER] = SCREEN_X;
+            BAND_Y[LOWER] = KEY.height - (yMin[i] - KEY.lowerBoundY) * KEY.scaleY;
+            LINE_X[i]     = SCREEN_X;
+            LINE_Y[i]     = KEY.height - (y[i] - KEY.lowerBoundY) * KEY.scaleY;
+            if (KEY.smooth) {
+                // a spline point is part of a gap if one end of its segment is empty
+                final int SEGMENT = Math.min(i / SUB_DIVISIONS, Math.max(0, NO_OF_ITEMS - 2));
+                MOVE_TO[i] = EMPTY[SEGMENT] || (NO_OF_ITEMS > 1 && EMPTY[SEGMENT + 1]);
+            } else {
+                MOVE_TO[i] = i == 0 || EMPTY[i] || EMPTY[i - 1];
+            }
+        }
+        if (noOfPoints > 0) { MOVE_TO[0] = true; }
+        return new ScreenGeometry(KEY, BAND_X, BAND_Y, noOfPoints * 2, LINE_X, LINE_Y, MOVE_TO, noOfPoints);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Everything the geometry depends on, a result is only used while its key
+     * equals the key of the latest request.
+     */
+    static final class Key {
+        private final long    modificationCount;
+        private final int     from;
+        private final int     to;
+        private final boolean smooth;
+        private final double  lowerBoundX;
+        private final double  lowerBoundY;
+        private final double  scaleX;
+        private final double  scaleY;
+        private final double  height;
+
+
+        Key(final long MODIFICATION_COUNT, final int FROM, final int TO, final boolean SMOOTH,
+            final double LOWER_BOUND_X, final double LOWER_BOUND_Y, final double SCALE_X, final double SCALE_Y, final double HEIGHT) {
+            modificationCount = MODIFICATION_COUNT;
+            from              = FROM;
+            to                = TO;
+            smooth            = SMOOTH;
+            lowerBoundX       = LOWER_BOUND_X;
+            lowerBoundY       = LOWER_BOUND_Y;
+            scaleX            = SCALE_X;
+            scaleY            = SCALE_Y;
+            height            = HEIGHT;
+        }
+
+
+        int getFrom() { return from; }
+        int getTo() { return to; }
+
+        @Override public boolean equals(final Object OBJECT) {
+            if (this == OBJECT) { return true; }
+            if (!(OBJECT instanceof Key)) { return false; }
+            Key other = (Key) OBJECT;
+            return modificationCount == other.modificationCount && from == other.from && to == other.to && smooth == other.smooth &&
+                   Double.compare(lowerBoundX, other.lowerBoundX) == 0 && Double.compare(lowerBoundY, other.lowerBoundY) == 0 &&
+                   Double.compare(scaleX, other.scaleX) == 0 && Double.compare(scaleY, other.scaleY) == 0 && Double.compare(height, other.height) == 0;
+        }
+
+        @Override public int hashCode() { return Objects.hash(modificationCount, from, to, smooth, lowerBoundX, lowerBoundY, scaleX, scaleY, height); }
+    }
+}
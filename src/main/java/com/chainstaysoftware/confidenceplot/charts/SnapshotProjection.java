@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Affine;
+
+
+/**
+ * Shows the last drawn content of a region for other bounds without drawing
+ * it again. The content is scaled and translated so that the values of the
+ * drawn range end up where the new range puts them, the region is clipped
+ * while the projection is active.
+ */
+final class SnapshotProjection {
+    private final Region    region;
+    private final Affine    affine;
+    private final Rectangle clip;
+    private       double    scaleX;
+    private       double    translateX;
+    private       double    scaleY;
+    private       double    translateY;
+
+
+    // ******************** Constructors **************************************
+    SnapshotProjection(final Region REGION) {
+        region = REGION;
+        affine = new Affine();
+        clip   = new Rectangle();
+        reset();
+    }
+
+
+    // ******************** Methods *******************************************
+    boolean isActive() { return region.getClip() == clip; }
+
+    // x grows with the value
+    void setRangeX(final double WIDTH, final double DRAWN_MIN, final double DRAWN_MAX, final double MIN, final double MAX) {
+        scaleX     = (DRAWN_MAX - DRAWN_MIN) / (MAX - MIN);
+        translateX = (DRAWN_MIN - MIN) / (MAX - MIN) * WIDTH;
+    }
+
+    // y shrinks with the value
+    void setRangeY(final double HEIGHT, final double DRAWN_MIN, final double DRAWN_MAX, final double MIN, final double MAX) {
+        scaleY     = (DRAWN_MAX - DRAWN_MIN) / (MAX - MIN);
+        translateY = HEIGHT * (1 - scaleY) - (DRAWN_MIN - MIN) / (MAX - MIN) * HEIGHT;
+    }
+
+    void apply(final Node... NODES) {
+        if (!Double.isFinite(scaleX) || !Double.isFinite(translateX) || !Double.isFinite(scaleY) || !Double.isFinite(translateY)) { return; }
+        affine.setToTransform(scaleX, 0, translateX, 0, scaleY, translateY);
+        for (Node node : NODES) {
+            if (!node.getTransforms().contains(affine)) { node.getTransforms().add(affine); }
+        }
+        clip.setWidth(region.getWidth());
+        clip.setHeight(region.getHeight());
+        region.setClip(clip);
+    }
+
+    void clear(final Node... NODES) {
+        for (Node node : NODES) { node.getTransforms().remove(affine); }
+        if (isActive()) { region.setClip(null); }
+        reset();
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void reset() {
+        scaleX     = 1;
+        translateX = 0;
+        scaleY     = 1;
+        translateY = 0;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
+import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
+
+
+/**
+ * Interpolated data space curves (x, y, yMin, yMax) of the visible slice of
+ * a smooth line series. The curves stay valid until the data of the series
+ * or the visible slice changes, so layout only redraws just project them.
+ */
+final class SplineGeometry {
+    private long     modificationCount;
+    private int      from;
+    private int      to;
+    private int      noOfPoints;
+    private double[] valuesX;
+    private double[] valuesY;
+    private double[] valuesYMin;
+    private double[] valuesYMax;
+    private double[] x;
+    private double[] y;
+    private double[] yMin;
+    private double[] yMax;
+
+
+    // ******************** Constructors **************************************
+    SplineGeometry() {
+        modificationCount = -1;
+        valuesX           = new double[0];
+        valuesY           = new double[0];
+        valuesYMin        = new double[0];
+        valuesYMax        = new double[0];
+        x                 = new double[0];
+        y                 = new double[0];
+        yMin              = new double[0];
+        yMax              = new double[0];
+    }
+
+
+    // ******************** Methods *******************************************
+    int getNoOfPoints() { return noOfPoints; }
+
+    double getX(final int INDEX) { return x[INDEX]; }
+    double getY(final int INDEX) { return y[INDEX]; }
+    double getYMin(final int INDEX) { return yMin[INDEX]; }
+    double getYMax(final int INDEX) { return yMax[INDEX]; }
+
+    boolean isValid(final long MODIFICATION_COUNT, final int FROM, final int TO) {
+        return modificationCount == MODIFICATION_COUNT && from == FROM && to == TO;
+    }
+
+    void update(final XYConfidenceSeries<?> SERIES, final int FROM, final int TO, final int SUB_DIVISIONS) {
+        final int NO_OF_ITEMS = TO - FROM;
+        ensureCapacity(NO_OF_ITEMS, SUB_DIVISIONS);
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) {
+            valuesX[i]    = SERIES.getX(FROM + i);
+            valuesY[i]    = SERIES.getY(FROM + i);
+            valuesYMin[i] = SERIES.getYMin(FROM + i);
+            valuesYMax[i] = SERIES.getYMax(FROM + i);
+        }
+        noOfPoints = Helper.subdivideValues(valuesX, NO_OF_ITEMS, SUB_DIVISIONS, x);
+        Helper.subdivideValues(valuesY, NO_OF_ITEMS, SUB_DIVISIONS, y);
+        Helper.subdivideValues(valuesYMin, NO_OF_ITEMS, SUB_DIVISIONS, yMin);
+        Helper.subdivideValues(valuesYMax, NO_OF_ITEMS, SUB_DIVISIONS, yMax);
+        modificationCount = SERIES.getModificationCount();
+        from              = FROM;
+        to                = TO;
+    }
+
+    private void ensureCapacity(final int NO_OF_ITEMS, final int SUB_DIVISIONS) {
+        if (valuesX.length < NO_OF_ITEMS) {
+            valuesX    = new double[NO_OF_ITEMS];
+            valuesY    = new double[NO_OF_ITEMS];
+            valuesYMin = new double[NO_OF_ITEMS];
+            valuesYMax = new double[NO_OF_ITEMS];
+        }
+        final int NO_OF_POINTS = Math.max(1, (NO_OF_ITEMS - 1) * SUB_DIVISIONS + 1);
+        if (x.length < NO_OF_POINTS) {
+            x    = new double[NO_OF_POINTS];
+            y    = new double[NO_OF_POINTS];
+            yMin = new double[NO_OF_POINTS];
+            yMax = new double[NO_OF_POINTS];
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Rasterizes every combination of symbol, fill, stroke, size, line width and
+ * render scale once into a shared image and draws symbols by copying from it.
+ * Sprites are packed in rows, a full image is doubled in size up to
+ * MAX_SIZE. After that the least recently used sprites are dropped and the
+ * rest is packed again. Symbols that do not fit are drawn directly. Must be
+ * used on the FX thread.
+ */
+final class SymbolAtlas {
+    private static final int                INITIAL_SIZE      = 256;
+    private static final int                MAX_SIZE          = 2048;
+    private static final int                MAX_NO_OF_SPRITES = 4096;
+    private final        Map<Key, Sprite>   sprites;
+    private final        Key                probe;
+    private final        SnapshotParameters snapshotParameters;
+    private final        Canvas             scratchCanvas;
+    private              WritableImage      image;
+    private              int                rowX;
+    private              int                rowY;
+    private              int                rowHeight;
+    private              int                generation;
+
+
+    // ******************** Constructors **************************************
+    SymbolAtlas() {
+        // Access order, the eldest entry is the least recently drawn sprite
+        sprites            = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(final Map.Entry<Key, Sprite> ELDEST) { return size() > MAX_NO_OF_SPRITES; }
+        };
+        probe              = new Key();
+        snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        scratchCanvas      = new Canvas();
+        image              = new WritableImage(INITIAL_SIZE, INITIAL_SIZE);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Draws the symbol centered at the given position, rasterizing it first
+     * if this combination has not been used before.
+     */
+    void drawSymbol(final GraphicsContext CTX, final double X, final double Y, final Paint FILL, final Paint STROKE,
+                    final Symbol SYMBOL, final double SYMBOL_SIZE, final double LINE_WIDTH, final double RENDER_SCALE) {
+        drawSprite(CTX, getSprite(FILL, STROKE, SYMBOL, SYMBOL_SIZE, LINE_WIDTH, RENDER_SCALE), X, Y);
+    }
+
+    /**
+     * Returns the sprite of the given combination, null for Symbol.NONE. The
+     * sprite can be drawn any number of times with drawSprite().
+     */
+    Sprite getSprite(final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final double SYMBOL_SIZE, final double LINE_WIDTH, final double RENDER_SCALE) {
+        if (Symbol.NONE == SYMBOL) { return null; }
+        return getSprite(probe.set(SYMBOL, FILL, STROKE, SYMBOL_SIZE, LINE_WIDTH, RENDER_SCALE));
+    }
+
+    /**
+     * Draws the sprite centered at the given position.
+     */
+    void drawSprite(final GraphicsContext CTX, final Sprite SPRITE, final double X, final double Y) {
+        if (null == SPRITE) { return; }
+        // Repacking the image moved all sprites, look up the current one
+        final Sprite CURRENT = SPRITE.generation == generation ? SPRITE : getSprite(SPRITE.key);
+        if (CURRENT.isDirect()) {
+            final Key KEY = CURRENT.key;
+            CTX.save();
+            CTX.setLineWidth(KEY.lineWidth);
+            drawShape(CTX, X, Y, KEY.fill, KEY.stroke, KEY.symbol, KEY.symbolSize);
+            CTX.restore();
+        } else {
+            CTX.drawImage(image, CURRENT.x, CURRENT.y, CURRENT.pixelSize, CURRENT.pixelSize,
+                          X - CURRENT.size * 0.5, Y - CURRENT.size * 0.5, CURRENT.size, CURRENT.size);
+        }
+    }
+
+    private Sprite getSprite(final Key KEY) {
+        Sprite sprite = sprites.get(KEY);
+        if (null == sprite) {
+            final Key COPY = KEY.copy();
+            sprite = render(COPY);
+            sprites.put(COPY, sprite);
+        }
+        return sprite;
+    }
+
+    private Sprite render(final Key KEY) {
+        // Half the line width plus one pixel of padding on each side keeps the stroke inside the sprite
+        final double SIZE       = KEY.symbolSize + KEY.lineWidth + 2;
+        final int    PIXEL_SIZE = (int) Math.ceil(SIZE * KEY.renderScale);
+        // Repacking keeps up to half of the image, larger sprites could never be placed again
+        if (PIXEL_SIZE > MAX_SIZE / 2) { return new Sprite(KEY, generation, -1, -1, 0, SIZE); }
+        if (!reserve(PIXEL_SIZE)) {
+            makeRoom();
+            if (!reserve(PIXEL_SIZE)) { return new Sprite(KEY, generation, -1, -1, 0, SIZE); }
+        }
+        final Sprite SPRITE = new Sprite(KEY, generation, rowX - PIXEL_SIZE, rowY, PIXEL_SIZE, PIXEL_SIZE / KEY.renderScale);
+
+        scratchCanvas.setWidth(PIXEL_SIZE);
+        scratchCanvas.setHeight(PIXEL_SIZE);
+        GraphicsContext ctx = scratchCanvas.getGraphicsContext2D();
+        ctx.clearRect(0, 0, PIXEL_SIZE, PIXEL_SIZE);
+        ctx.save();
+        ctx.scale(KEY.renderScale, KEY.renderScale);
+        ctx.setLineWidth(KEY.lineWidth);
+        drawShape(ctx, SPRITE.size * 0.5, SPRITE.size * 0.5, KEY.fill, KEY.stroke, KEY.symbol, KEY.symbolSize);
+        ctx.restore();
+        WritableImage snapshot = scratchCanvas.snapshot(snapshotParameters, null);
+        image.getPixelWriter().setPixels(SPRITE.x, SPRITE.y, PIXEL_SIZE, PIXEL_SIZE, snapshot.getPixelReader(), 0, 0);
+        return SPRITE;
+    }
+
+    // Moves the packing position past a sprite of the given size, returns false if the image is full
+    private boolean reserve(final int PIXEL_SIZE) {
+        if (rowX + PIXEL_SIZE > image.getWidth()) {
+            rowX      = 0;
+            rowY     += rowHeight;
+            rowHeight = 0;
+        }
+        if (rowY + PIXEL_SIZE > image.getHeight() || PIXEL_SIZE > image.getWidth()) { return false; }
+        rowX     += PIXEL_SIZE;
+        rowHeight = Math.max(rowHeight, PIXEL_SIZE);
+        return true;
+    }
+
+    private void makeRoom() {
+        final int SIZE = (int) image.getWidth();
+        if (SIZE < MAX_SIZE) {
+            // The sprites keep their position, the rows just get longer
+            final WritableImage OLD_IMAGE = image;
+            final int           NEW_SIZE  = Math.min(SIZE * 2, MAX_SIZE);
+            image = new WritableImage(NEW_SIZE, NEW_SIZE);
+            image.getPixelWriter().setPixels(0, 0, SIZE, SIZE, OLD_IMAGE.getPixelReader(), 0, 0);
+        } else {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    // Copies the most recently used sprites into half of a new image and drops the others
+    private void evictLeastRecentlyUsed() {
+        final WritableImage                OLD_IMAGE = image;
+        final List<Map.Entry<Key, Sprite>> ENTRIES   = new ArrayList<>(sprites.entrySet());
+        Collections.reverse(ENTRIES);
+        image     = new WritableImage((int) OLD_IMAGE.getWidth(), (int) OLD_IMAGE.getHeight());
+        rowX      = 0;
+        rowY      = 0;
+        rowHeight = 0;
+        generation++;
+        sprites.clear();
+        final List<Sprite> KEPT = new ArrayList<>();
+        for (Map.Entry<Key, Sprite> entry : ENTRIES) {
+            final Sprite OLD_SPRITE = entry.getValue();
+            if (OLD_SPRITE.isDirect()) {
+                KEPT.add(new Sprite(OLD_SPRITE.key, generation, -1, -1, 0, OLD_SPRITE.size));
+                continue;
+            }
+            if (rowY + rowHeight + OLD_SPRITE.pixelSize > image.getHeight() * 0.5 || !reserve(OLD_SPRITE.pixelSize)) { break; }
+            final Sprite SPRITE = new Sprite(OLD_SPRITE.key, generation, rowX - OLD_SPRITE.pixelSize, rowY, OLD_SPRITE.pixelSize, OLD_SPRITE.size);
+            image.getPixelWriter().setPixels(SPRITE.x, SPRITE.y, SPRITE.pixelSize, SPRITE.pixelSize, OLD_IMAGE.getPixelReader(), OLD_SPRITE.x, OLD_SPRITE.y);
+            KEPT.add(SPRITE);
+        }
+        // Restore the access order, eldest first
+        Collections.reverse(KEPT);
+        for (Sprite sprite : KEPT) { sprites.put(sprite.key, sprite); }
+    }
+
+    static void drawShape(final GraphicsContext CTX, final double X, final double Y, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final double SYMBOL_SIZE) {
+        double halfSymbolSize = SYMBOL_SIZE * 0.5;
+        switch(SYMBOL) {
+            case NONE:
+                break;
+            case SQUARE:
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.fillRect(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
+                CTX.strokeRect(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
+                break;
+            case TRIANGLE:
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.beginPath();
+                CTX.moveTo(X, Y - halfSymbolSize);
+                CTX.lineTo(X + halfSymbolSize, Y + halfSymbolSize);
+                CTX.lineTo(X - halfSymbolSize, Y + halfSymbolSize);
+                CTX.lineTo(X, Y - halfSymbolSize);
+                CTX.closePath();
+                CTX.fill();
+                CTX.stroke();
+                break;
+            case STAR:
+                CTX.setStroke(STROKE);
+                CTX.setFill(null);
+                CTX.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
+                CTX.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
+                CTX.strokeLine(X - halfSymbolSize, Y - halfSymbolSize, X + halfSymbolSize, Y + halfSymbolSize);
+                CTX.strokeLine(X + halfSymbolSize, Y - halfSymbolSize, X - halfSymbolSize, Y + halfSymbolSize);
+                break;
+            case CROSS:
+                CTX.setStroke(STROKE);
+                CTX.setFill(null);
+                CTX.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
+                CTX.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
+                break;
+            case CIRCLE:
+            default    :
+                CTX.setStroke(STROKE);
+                CTX.setFill(FILL);
+                CTX.fillOval(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
+                CTX.strokeOval(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
+                break;
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    static final class Sprite {
+        private final Key    key;
+        private final int    generation;
+        private final int    x;
+        private final int    y;
+        private final int    pixelSize;
+        private final double size;
+
+
+        private Sprite(final Key KEY, final int GENERATION, final int X, final int Y, final int PIXEL_SIZE, final double SIZE) {
+            key        = KEY;
+            generation = GENERATION;
+            x          = X;
+            y          = Y;
+            pixelSize  = PIXEL_SIZE;
+            size       = SIZE;
+        }
+
+        // Does not fit into the atlas and is drawn with the shape commands
+        private boolean isDirect() { return 0 == pixelSize; }
+    }
+
+    // Lookups reuse one mutable key, it is only copied when a sprite is added
+    private static final class Key {
+        private Symbol symbol;
+        private Paint  fill;
+        private Paint  stroke;
+        private double symbolSize;
+        private double lineWidth;
+        private double renderScale;
+
+
+        private Key set(final Symbol SYMBOL, final Paint FILL, final Paint STROKE, final double SYMBOL_SIZE, final double LINE_WIDTH, final double RENDER_SCALE) {
+            symbol      = SYMBOL;
+            fill        = FILL;
+            stroke      = STROKE;
+            symbolSize  = SYMBOL_SIZE;
+            lineWidth   = LINE_WIDTH;
+            renderScale = RENDER_SCALE;
+            return this;
+        }
+
+        private Key copy() { return new Key().set(symbol, fill, stroke, symbolSize, lineWidth, renderScale); }
+
+        @Override public boolean equals(final Object OBJ) {
+            if (this == OBJ) { return true; }
+            if (!(OBJ instanceof Key)) { return false; }
+            final Key OTHER = (Key) OBJ;
+            // Paints implement equals() and hashCode(), the fill might be null
+            return symbol == OTHER.symbol &&
+                   Double.compare(symbolSize, OTHER.symbolSize) == 0 &&
+                   Double.compare(lineWidth, OTHER.lineWidth) == 0 &&
+                   Double.compare(renderScale, OTHER.renderScale) == 0 &&
+                   Objects.equals(fill, OTHER.fill) &&
+                   Objects.equals(stroke, OTHER.stroke);
+        }
+
+        @Override public int hashCode() {
+            int hash = Objects.hashCode(symbol);
+            hash = 31 * hash + Objects.hashCode(fill);
+            hash = 31 * hash + Objects.hashCode(stroke);
+            hash = 31 * hash + Double.hashCode(symbolSize);
+            hash = 31 * hash + Double.hashCode(lineWidth);
+            return 31 * hash + Double.hashCode(renderScale);
+        }
+    }
+}
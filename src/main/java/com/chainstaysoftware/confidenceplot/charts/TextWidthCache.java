@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Widths of strings per Font, measured with one shared Text node. Each font
+ * keeps the most recently used strings (LRU), the least recently used fonts
+ * are dropped as well, so tick labels that repeat on every redraw are only
+ * measured once.
+ */
+final class TextWidthCache {
+    private static final int                                      MAX_NO_OF_FONTS   = 16;
+    private static final int                                      MAX_NO_OF_STRINGS = 512;
+    private static final Text                                     TEXT              = new Text();
+    private static final Map<Font, LinkedHashMap<String, Double>> CACHE             = new LinkedHashMap<>(MAX_NO_OF_FONTS, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Font, LinkedHashMap<String, Double>> ELDEST) { return size() > MAX_NO_OF_FONTS; }
+    };
+
+
+    // ******************** Constructors **************************************
+    private TextWidthCache() {}
+
+
+    // ******************** Methods *******************************************
+    static synchronized double getWidth(final Font FONT, final String STRING) {
+        if (null == STRING || STRING.isEmpty()) { return 0; }
+        final Map<String, Double> WIDTHS = CACHE.computeIfAbsent(FONT, font -> new LinkedHashMap<>(64, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(final Map.Entry<String, Double> ELDEST) { return size() > MAX_NO_OF_STRINGS; }
+        });
+        final Double WIDTH = WIDTHS.get(STRING);
+        if (null != WIDTH) { return WIDTH; }
+        TEXT.setFont(FONT);
+        TEXT.setText(STRING);
+        final double MEASURED_WIDTH = TEXT.getBoundsInParent().getWidth();
+        WIDTHS.put(STRING, MEASURED_WIDTH);
+        return MEASURED_WIDTH;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Bounded LRU cache of formatted tick labels. Number labels are keyed by
+ * (format, locale, value), time labels by (formatter, local date time), the
+ * formatter already carries its locale and the zone is applied before. The
+ * tick values of an axis barely change between redraws, so most labels are
+ * only formatted once. Lookups go through one reused probe key, a key is
+ * only allocated when a label is added.
+ */
+final class TickLabelCache {
+    private static final int              MAX_NO_OF_LABELS = 2048;
+    private static final Key              PROBE            = new Key();
+    private static final Map<Key, String> CACHE            = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, String> ELDEST) { return size() > MAX_NO_OF_LABELS; }
+    };
+
+
+    // ******************** Constructors **************************************
+    private TickLabelCache() {}
+
+
+    // ******************** Methods *******************************************
+    static synchronized String format(final Locale LOCALE, final String FORMAT, final double VALUE) {
+        String label = CACHE.get(PROBE.set(FORMAT, LOCALE, Double.doubleToLongBits(VALUE)));
+        if (null == label) {
+            label = String.format(LOCALE, FORMAT, VALUE);
+            CACHE.put(PROBE.copy(), label);
+        }
+        return label;
+    }
+
+    static synchronized String format(final DateTimeFormatter FORMATTER, final LocalDateTime DATE_TIME) {
+        String label = CACHE.get(PROBE.set(FORMATTER, DATE_TIME, 0));
+        if (null == label) {
+            label = FORMATTER.format(DATE_TIME);
+            CACHE.put(PROBE.copy(), label);
+        }
+        return label;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Key {
+        private Object format;
+        private Object argument;
+        private long   bits;
+
+
+        private Key set(final Object FORMAT, final Object ARGUMENT, final long BITS) {
+            format   = FORMAT;
+            argument = ARGUMENT;
+            bits     = BITS;
+            return this;
+        }
+
+        private Key copy() { return new Key().set(format, argument, bits); }
+
+        @Override public boolean equals(final Object OBJ) {
+            if (this == OBJ) { return true; }
+            if (!(OBJ instanceof Key)) { return false; }
+            final Key OTHER = (Key) OBJ;
+            return bits == OTHER.bits && Objects.equals(format, OTHER.format) && Objects.equals(argument, OTHER.argument);
+        }
+
+        @Override public int hashCode() { return 31 * (31 * Objects.hashCode(format) + Objects.hashCode(argument)) + Long.hashCode(bits); }
+    }
+}
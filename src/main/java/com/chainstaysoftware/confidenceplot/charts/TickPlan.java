@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Minor ticks of a linear axis from min to max. Tick k has the value
+ * min + k * minorTickSpace, major, medium (every fifth minor tick) and minor
+ * ticks are classified once by modulo arithmetic on the tick index. Plans
+ * are immutable and cached so Axis and Grid share them and resizing does
+ * not recompute them, the positions are just the values times the scale.
+ */
+final class TickPlan {
+    private static final int                         MAJOR           = 1;
+    private static final int                         MEDIUM          = 2;
+    private static final int                         MINOR           = 4;
+    private static final int                         MAX_NO_OF_TICKS = 100_000;
+    private static final int                         CACHE_SIZE      = 32;
+    private static final double                      EPSILON         = 1e-9;
+    private static final Map<List<Double>, TickPlan> CACHE           = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<List<Double>, TickPlan> ELDEST) { return size() > CACHE_SIZE; }
+    };
+    private final        double                      min;
+    private final        double                      max;
+    private final        double                      minorTickSpace;
+    private final        int                         noOfTicks;
+    private final        byte[]                      flags;
+
+
+    // ******************** Constructors **************************************
+    private TickPlan(final double MIN, final double MAX, final double MINOR_TICK_SPACE, final double MAJOR_TICK_SPACE) {
+        min            = MIN;
+        max            = MAX;
+        minorTickSpace = MINOR_TICK_SPACE;
+        if (MINOR_TICK_SPACE > 0 && Double.isFinite(MINOR_TICK_SPACE) && MAX > MIN) {
+            noOfTicks = (int) Math.min(MAX_NO_OF_TICKS, Math.floor((MAX - MIN) / MINOR_TICK_SPACE + EPSILON) + 1);
+        } else {
+            noOfTicks = 1;
+        }
+        flags = new byte[noOfTicks];
+
+        final double  FIRST_INDEX      = MIN / MINOR_TICK_SPACE;
+        final long    FIRST            = Math.round(FIRST_INDEX);
+        final double  MAJOR_RATIO      = MAJOR_TICK_SPACE / MINOR_TICK_SPACE;
+        final long    MINORS_PER_MAJOR = Math.round(MAJOR_RATIO);
+        final boolean ON_MINOR_GRID    = isNearInteger(FIRST_INDEX);
+        final boolean MAJOR_ON_GRID    = ON_MINOR_GRID && MINORS_PER_MAJOR > 0 && isNearInteger(MAJOR_RATIO);
+        for (int i = 0 ; i < noOfTicks ; i++) {
+            int flag = 0;
+            if (ON_MINOR_GRID) {
+                final long INDEX = FIRST + i;
+                flag |= MINOR;
+                if (Math.floorMod(INDEX, 5) == 0) { flag |= MEDIUM; }
+                if (MAJOR_ON_GRID ? Math.floorMod(INDEX, MINORS_PER_MAJOR) == 0 : isMultiple(getValue(i), MAJOR_TICK_SPACE)) { flag |= MAJOR; }
+            } else {
+                // min is not a multiple of the minor tick space, only a few values can hit a multiple
+                final double VALUE = getValue(i);
+                if (isMultiple(VALUE, MINOR_TICK_SPACE))     { flag |= MINOR; }
+                if (isMultiple(VALUE, 5 * MINOR_TICK_SPACE)) { flag |= MEDIUM; }
+                if (isMultiple(VALUE, MAJOR_TICK_SPACE))     { flag |= MAJOR; }
+            }
+            flags[i] = (byte) flag;
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    static TickPlan of(final double MIN, final double MAX, final double MINOR_TICK_SPACE, final double MAJOR_TICK_SPACE) {
+        final List<Double> KEY = List.of(MIN, MAX, MINOR_TICK_SPACE, MAJOR_TICK_SPACE);
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(KEY, key -> new TickPlan(MIN, MAX, MINOR_TICK_SPACE, MAJOR_TICK_SPACE));
+        }
+    }
+
+    int getNoOfTicks() { return noOfTicks; }
+
+    // Values close to zero or max are snapped so they can be compared exactly
+    double getValue(final int INDEX) {
+        final double VALUE = min + INDEX * minorTickSpace;
+        if (Math.abs(VALUE) < EPSILON * minorTickSpace)       { return 0; }
+        if (Math.abs(VALUE - max) < EPSILON * minorTickSpace) { return max; }
+        return VALUE;
+    }
+
+    boolean isMajor(final int INDEX) { return (flags[INDEX] & MAJOR) != 0; }
+    boolean isMedium(final int INDEX) { return (flags[INDEX] & MEDIUM) != 0; }
+    boolean isMinor(final int INDEX) { return (flags[INDEX] & MINOR) != 0; }
+
+
+    // ******************** Private Methods ***********************************
+    private static boolean isNearInteger(final double VALUE) {
+        return Double.isFinite(VALUE) && Math.abs(VALUE - Math.rint(VALUE)) < EPSILON * Math.max(1, Math.abs(VALUE));
+    }
+
+    private static boolean isMultiple(final double VALUE, final double SPACE) {
+        return SPACE > 0 && isNearInteger(VALUE / SPACE);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import com.chainstaysoftware.confidenceplot.charts.tools.Helper.Interval;
+
+import java.util.Arrays;
+
+
+/**
+ * Tick values (epoch seconds) of a time axis. The interval is picked from
+ * the ratio of the range to the axis length without walking any dates, then
+ * only the multiples of its minor tick space within the range are emitted.
+ * If the interval stays the same and the range slides forward, like on a
+ * live axis, ticks that left the range are dropped at the head and only the
+ * new ones are appended.
+ */
+final class TimeTickGenerator {
+    private static final double   PREFERRED_MAJOR_TICK_GAP = 100;
+    private              Interval interval;
+    private              long     start;
+    private              long     end;
+    private              long[]   ticks;
+    private              int      head;
+    private              int      noOfTicks;
+
+
+    // ******************** Constructors **************************************
+    TimeTickGenerator() {
+        interval  = Interval.SECOND_1;
+        start     = Long.MIN_VALUE;
+        end       = Long.MIN_VALUE;
+        ticks     = new long[64];
+        head      = 0;
+        noOfTicks = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    Interval getInterval() { return interval; }
+
+    int getNoOfTicks() { return noOfTicks; }
+
+    long getTick(final int INDEX) { return ticks[head + INDEX]; }
+
+    /**
+     * Takes the interval with the number of major ticks closest to one per
+     * 100 pixels. Between the first interval that exceeds that number and
+     * the one before it, the one that is closer wins.
+     */
+    static Interval selectInterval(final double LENGTH, final long RANGE_IN_SECONDS) {
+        final double     NO_OF_TICKS = LENGTH / PREFERRED_MAJOR_TICK_GAP;
+        final Interval[] INTERVALS   = Interval.values();
+        Interval previousInterval    = INTERVALS[0];
+        for (Interval interval : INTERVALS) {
+            // Same counts the former date walk produced: dates before the end and dates up to the end
+            final long SPACE = interval.getMajorTickSpace();
+            final long COUNT = (RANGE_IN_SECONDS + SPACE - 1) / SPACE;
+            if (COUNT > NO_OF_TICKS) {
+                final long PREVIOUS_COUNT = RANGE_IN_SECONDS / previousInterval.getMajorTickSpace() + 1;
+                return PREVIOUS_COUNT - NO_OF_TICKS > NO_OF_TICKS - COUNT ? previousInterval : interval;
+            }
+            previousInterval = interval;
+        }
+        return INTERVALS[INTERVALS.length - 1];
+    }
+
+    void update(final double LENGTH, final long START, final long END) {
+        final Interval INTERVAL = selectInterval(LENGTH, END - START);
+        if (INTERVAL == interval && START >= start && START <= end && END >= end) {
+            slide(START, END);
+        } else {
+            interval  = INTERVAL;
+            head      = 0;
+            noOfTicks = 0;
+            append(firstMultipleFrom(START), END);
+        }
+        start = START;
+        end   = END;
+    }
+
+
+    // ******************** Private Methods ***********************************
+    private void slide(final long START, final long END) {
+        while (noOfTicks > 0 && ticks[head] < START) {
+            head++;
+            noOfTicks--;
+        }
+        append(noOfTicks > 0 ? ticks[head + noOfTicks - 1] + interval.getMinorTickSpace() : firstMultipleFrom(START), END);
+    }
+
+    private void append(final long FROM, final long TO) {
+        final long SPACE = interval.getMinorTickSpace();
+        for (long tick = FROM ; tick <= TO ; tick += SPACE) {
+            if (head + noOfTicks == ticks.length) {
+                if (head > 0) {
+                    System.arraycopy(ticks, head, ticks, 0, noOfTicks);
+                    head = 0;
+                } else {
+                    ticks = Arrays.copyOf(ticks, ticks.length * 2);
+                }
+            }
+            ticks[head + noOfTicks] = tick;
+            noOfTicks++;
+        }
+    }
+
+    private long firstMultipleFrom(final long SECONDS) {
+        final long SPACE = interval.getMinorTickSpace();
+        return Math.floorDiv(SECONDS + SPACE - 1, SPACE) * SPACE;
+    }
+}
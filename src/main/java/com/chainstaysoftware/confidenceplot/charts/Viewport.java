@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import java.util.Objects;
+
+
+/**
+ * Immutable visible range of a chart. Panes, axes and grid all take their
+ * bounds from one viewport so a range change reaches them in one step,
+ * charts that should move together can share one viewport (see
+ * XYConfidenceChart.viewportProperty()). The pixel size stays with each
+ * participant.
+ */
+public final class Viewport {
+    private final double lowerBoundX;
+    private final double upperBoundX;
+    private final double lowerBoundY;
+    private final double upperBoundY;
+
+
+    // ******************** Constructors **************************************
+    public Viewport(final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double LOWER_BOUND_Y, final double UPPER_BOUND_Y) {
+        lowerBoundX = LOWER_BOUND_X;
+        upperBoundX = UPPER_BOUND_X;
+        lowerBoundY = LOWER_BOUND_Y;
+        upperBoundY = UPPER_BOUND_Y;
+    }
+
+
+    // ******************** Methods *******************************************
+    public double getLowerBoundX() { return lowerBoundX; }
+    public double getUpperBoundX() { return upperBoundX; }
+
+    public double getLowerBoundY() { return lowerBoundY; }
+    public double getUpperBoundY() { return upperBoundY; }
+
+    public double getRangeX() { return upperBoundX - lowerBoundX; }
+    public double getRangeY() { return upperBoundY - lowerBoundY; }
+
+    @Override public boolean equals(final Object OBJECT) {
+        if (this == OBJECT) { return true; }
+        if (!(OBJECT instanceof Viewport)) { return false; }
+        final Viewport OTHER = (Viewport) OBJECT;
+        return Double.compare(lowerBoundX, OTHER.lowerBoundX) == 0 && Double.compare(upperBoundX, OTHER.upperBoundX) == 0 &&
+               Double.compare(lowerBoundY, OTHER.lowerBoundY) == 0 && Double.compare(upperBoundY, OTHER.upperBoundY) == 0;
+    }
+
+    @Override public int hashCode() { return Objects.hash(lowerBoundX, upperBoundX, lowerBoundY, upperBoundY); }
+
+    @Override public String toString() {
+        return "Viewport[x: " + lowerBoundX + " - " + upperBoundX + ", y: " + lowerBoundY + " - " + upperBoundY + "]";
+    }
+}
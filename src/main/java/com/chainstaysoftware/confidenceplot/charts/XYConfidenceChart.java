@@ -19,9 +19,14 @@ package com.chainstaysoftware.confidenceplot.charts;
 import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceItem;
 import com.chainstaysoftware.confidenceplot.charts.event.ChartEvt;
 import eu.hansolo.toolbox.evt.EvtObserver;
+import javafx.animation.PauseTransition;
 import javafx.beans.DefaultProperty;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.StringProperty;
 import javafx.beans.property.StringPropertyBase;
 import javafx.collections.FXCollections;
@@ -29,9 +34,14 @@ import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
 import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
 
 import java.util.Arrays;
 import java.util.LinkedList;
@@ -51,6 +61,9 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
     private static final double                    MINIMUM_HEIGHT   = 50;
     private static final double                    MAXIMUM_WIDTH    = 4096;
     private static final double                    MAXIMUM_HEIGHT   = 4096;
+    private static final Duration                  GESTURE_PAUSE    = Duration.millis(150);
+    private static final double                    ZOOM_FACTOR      = 1.1;
+    private static final double                    MIN_ZOOM_SIZE    = 5;
     private              double                    width;
     private              double                    height;
     private              ObservableList<XYConfidencePane<T>> xyConfidencePanes;
@@ -79,6 +92,18 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
     private              AnchorPane                pane;
     private              BooleanBinding            showing;
     private              EvtObserver<ChartEvt>     axisObserver;
+    private              boolean                   _panAndZoomEnabled;
+    private              BooleanProperty           panAndZoomEnabled;
+    private              Rectangle                 zoomRectangle;
+    private              PauseTransition           gesturePause;
+    private              double[]                  gestureStartBounds;
+    private              double[]                  previewBounds;
+    private              double                    gestureStartX;
+    private              double                    gestureStartY;
+    private              boolean                   rubberBandZoom;
+    private              Viewport                  _viewport;
+    private              ObjectProperty<Viewport>  viewport;
+    private              boolean                   applyingViewport;
 
 
     // ******************** Constructors **************************************
@@ -99,6 +124,10 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         width        = PREFERRED_WIDTH;
         height       = PREFERRED_HEIGHT;
         axisObserver = evt -> adjustChartRange();
+        _panAndZoomEnabled = false;
+        applyingViewport   = false;
+        gesturePause       = new PauseTransition(GESTURE_PAUSE);
+        gesturePause.setOnFinished(e -> commitPreview());
         checkReferenceZero();
         initGraphics();
         registerListeners();
@@ -130,6 +159,14 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         pane.getChildren().addAll(axis);
         setGrid(grid);
 
+        zoomRectangle = new Rectangle();
+        zoomRectangle.setFill(Color.rgb(128, 128, 128, 0.2));
+        zoomRectangle.setStroke(Color.GRAY);
+        zoomRectangle.setManaged(false);
+        zoomRectangle.setMouseTransparent(true);
+        zoomRectangle.setVisible(false);
+        pane.getChildren().add(zoomRectangle);
+
         getChildren().setAll(pane);
     }
 
@@ -139,6 +176,7 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         xyConfidencePanes.addListener((ListChangeListener<XYConfidencePane<T>>) c -> {
             if (xyConfidencePanes.size() > 1) { xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.setChartBackground(Color.TRANSPARENT)); }
             checkReferenceZero();
+            applyViewport(getViewport());
             refresh();
         });
         if (null != getScene()) {
@@ -167,6 +205,11 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
             }
         });
         axis.forEach(axis -> axis.addChartEvtObserver(ChartEvt.AXIS_RANGE_CHANGED, axisObserver));
+
+        pane.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> handleGestureStart(e));
+        pane.addEventHandler(MouseEvent.MOUSE_DRAGGED, e -> handleGestureDrag(e));
+        pane.addEventHandler(MouseEvent.MOUSE_RELEASED, e -> handleGestureEnd(e));
+        pane.addEventHandler(ScrollEvent.SCROLL, e -> handleGestureScroll(e));
     }
 
 
@@ -181,6 +224,7 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
     @Override public ObservableList<Node> getChildren() { return super.getChildren(); }
 
     public void dispose() {
+        gesturePause.stop();
         axis.forEach(axis -> axis.removeChartEvtObserver(ChartEvt.AXIS_RANGE_CHANGED, axisObserver));
         xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.dispose());
     }
@@ -227,6 +271,60 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         return subTitle;
     }
 
+    /**
+     * The visible range that the panes, axes and grid of this chart are
+     * drawn for. Binding the viewport properties of two charts
+     * bidirectionally makes them pan and zoom together, each chart keeps
+     * its own pixel size.
+     */
+    public Viewport getViewport() { return null == viewport ? _viewport : viewport.get(); }
+    public void setViewport(final Viewport VIEWPORT) {
+        if (null == viewport) {
+            _viewport = VIEWPORT;
+            applyViewport(VIEWPORT);
+        } else {
+            viewport.set(VIEWPORT);
+        }
+    }
+    public ObjectProperty<Viewport> viewportProperty() {
+        if (null == viewport) {
+            viewport = new ObjectPropertyBase<>(_viewport) {
+                @Override protected void invalidated() { applyViewport(get()); }
+                @Override public Object getBean() { return XYConfidenceChart.this; }
+                @Override public String getName() { return "viewport"; }
+            };
+            _viewport = null;
+        }
+        return viewport;
+    }
+
+    /**
+     * Dragging pans the chart, dragging with shift down zooms into the
+     * selected rectangle and scrolling zooms around the mouse pointer.
+     * While a gesture is in progress the last drawn chart, grid and axes
+     * are only scaled and translated, they are drawn for the new range when
+     * the gesture ends or pauses.
+     */
+    public boolean isPanAndZoomEnabled() { return null == panAndZoomEnabled ? _panAndZoomEnabled : panAndZoomEnabled.get(); }
+    public void setPanAndZoomEnabled(final boolean ENABLED) {
+        if (null == panAndZoomEnabled) {
+            _panAndZoomEnabled = ENABLED;
+            if (!ENABLED) { cancelGesture(); }
+        } else {
+            panAndZoomEnabled.set(ENABLED);
+        }
+    }
+    public BooleanProperty panAndZoomEnabledProperty() {
+        if (null == panAndZoomEnabled) {
+            panAndZoomEnabled = new BooleanPropertyBase(_panAndZoomEnabled) {
+                @Override protected void invalidated() { if (!get()) { cancelGesture(); } }
+                @Override public Object getBean() { return XYConfidenceChart.this; }
+                @Override public String getName() { return "panAndZoomEnabled"; }
+            };
+        }
+        return panAndZoomEnabled;
+    }
+
     public boolean isReferenceZero() {
         if (xyConfidencePanes.size() > 0) {
             return xyConfidencePanes.get(0).isReferenceZero();
@@ -315,30 +413,64 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         });
     }
 
+    // An axis range changed, publish the ranges of all axes as one viewport
     private void adjustChartRange() {
-        xyConfidencePanes.forEach(xyConfidencePane -> {
-            if (hasBottomXAxis) {
-                xyConfidencePane.setLowerBoundX(xAxisB.getMinValue());
-                xyConfidencePane.setUpperBoundX(xAxisB.getMaxValue());
-            } else if (hasTopXAxis) {
-                xyConfidencePane.setLowerBoundX(xAxisT.getMinValue());
-                xyConfidencePane.setUpperBoundX(xAxisT.getMaxValue());
-            } else if (hasCenterXAxis) {
-                xyConfidencePane.setLowerBoundX(xAxisC.getMinValue());
-                xyConfidencePane.setUpperBoundX(xAxisC.getMaxValue());
-            }
+        if (applyingViewport || xyConfidencePanes.isEmpty()) { return; }
+        final XYConfidencePane<T> REFERENCE = xyConfidencePanes.get(0);
+        setViewport(createViewportFromAxes(REFERENCE.getLowerBoundX(), REFERENCE.getUpperBoundX(), REFERENCE.getLowerBoundY(), REFERENCE.getUpperBoundY()));
+    }
 
-            if (hasLeftYAxis) {
-                xyConfidencePane.setLowerBoundY(yAxisL.getMinValue());
-                xyConfidencePane.setUpperBoundY(yAxisL.getMaxValue());
-            } else if (hasRightYAxis) {
-                xyConfidencePane.setLowerBoundY(yAxisR.getMinValue());
-                xyConfidencePane.setUpperBoundY(yAxisR.getMaxValue());
-            } else if (hasCenterYAxis) {
-                xyConfidencePane.setLowerBoundY(yAxisC.getMinValue());
-                xyConfidencePane.setUpperBoundY(yAxisC.getMaxValue());
-            }
-        });
+    // Takes the range of the axes, the given bounds are only used for an orientation without axis
+    private Viewport createViewportFromAxes(final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double LOWER_BOUND_Y, final double UPPER_BOUND_Y) {
+        double lowerBoundX = LOWER_BOUND_X;
+        double upperBoundX = UPPER_BOUND_X;
+        double lowerBoundY = LOWER_BOUND_Y;
+        double upperBoundY = UPPER_BOUND_Y;
+        if (hasBottomXAxis) {
+            lowerBoundX = xAxisB.getMinValue();
+            upperBoundX = xAxisB.getMaxValue();
+        } else if (hasTopXAxis) {
+            lowerBoundX = xAxisT.getMinValue();
+            upperBoundX = xAxisT.getMaxValue();
+        } else if (hasCenterXAxis) {
+            lowerBoundX = xAxisC.getMinValue();
+            upperBoundX = xAxisC.getMaxValue();
+        }
+
+        if (hasLeftYAxis) {
+            lowerBoundY = yAxisL.getMinValue();
+            upperBoundY = yAxisL.getMaxValue();
+        } else if (hasRightYAxis) {
+            lowerBoundY = yAxisR.getMinValue();
+            upperBoundY = yAxisR.getMaxValue();
+        } else if (hasCenterYAxis) {
+            lowerBoundY = yAxisC.getMinValue();
+            upperBoundY = yAxisC.getMaxValue();
+        }
+        return createViewport(new double[] { lowerBoundX, upperBoundX, lowerBoundY, upperBoundY });
+    }
+    private Viewport createViewport(final double[] BOUNDS) {
+        return new Viewport(BOUNDS[0], BOUNDS[1], BOUNDS[2], BOUNDS[3]);
+    }
+
+    /**
+     * Hands the viewport to the axes first (they might round it if they auto
+     * scale), then to the panes and the grid. Every participant is drawn
+     * once, the range events of the axes are not fed back in the meantime.
+     */
+    private void applyViewport(final Viewport VIEWPORT) {
+        if (null == VIEWPORT || applyingViewport) { return; }
+        final Viewport APPLIED;
+        applyingViewport = true;
+        try {
+            axis.forEach(axis -> axis.setViewport(VIEWPORT));
+            APPLIED = createViewportFromAxes(VIEWPORT.getLowerBoundX(), VIEWPORT.getUpperBoundX(), VIEWPORT.getLowerBoundY(), VIEWPORT.getUpperBoundY());
+            xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.setViewport(APPLIED));
+            if (null != grid) { grid.setViewport(APPLIED); }
+        } finally {
+            applyingViewport = false;
+        }
+        if (!APPLIED.equals(VIEWPORT)) { setViewport(APPLIED); }
     }
 
     private void adjustAxisAnchors() {
@@ -415,6 +547,113 @@ public class XYConfidenceChart<T extends XYConfidenceItem> extends Region {
         showing.addListener((o, ov, nv) -> { if (nv) { adjustCenterAxisAnchors(); } });
     }
 
+    // ******************** Pan and Zoom **************************************
+    private void handleGestureStart(final MouseEvent EVT) {
+        if (!isPanAndZoomEnabled() || MouseButton.PRIMARY != EVT.getButton() || xyConfidencePanes.isEmpty()) { return; }
+        gestureStartBounds = null == previewBounds ? getBounds() : previewBounds;
+        gestureStartX      = EVT.getX();
+        gestureStartY      = EVT.getY();
+        rubberBandZoom     = EVT.isShiftDown();
+        if (rubberBandZoom) {
+            zoomRectangle.relocate(gestureStartX, gestureStartY);
+            zoomRectangle.setWidth(0);
+            zoomRectangle.setHeight(0);
+            zoomRectangle.setVisible(true);
+        }
+    }
+
+    private void handleGestureDrag(final MouseEvent EVT) {
+        if (null == gestureStartBounds) { return; }
+        if (rubberBandZoom) {
+            zoomRectangle.relocate(Math.min(gestureStartX, EVT.getX()), Math.min(gestureStartY, EVT.getY()));
+            zoomRectangle.setWidth(Math.abs(EVT.getX() - gestureStartX));
+            zoomRectangle.setHeight(Math.abs(EVT.getY() - gestureStartY));
+            return;
+        }
+        final XYConfidencePane<T> REFERENCE       = xyConfidencePanes.get(0);
+        final double[]            START           = gestureStartBounds;
+        final double              VALUES_PER_PX_X = (START[1] - START[0]) / REFERENCE.getWidth();
+        final double              VALUES_PER_PX_Y = (START[3] - START[2]) / REFERENCE.getHeight();
+        final double              DELTA_X         = (EVT.getX() - gestureStartX) * VALUES_PER_PX_X;
+        final double              DELTA_Y         = (EVT.getY() - gestureStartY) * VALUES_PER_PX_Y;
+        preview(new double[] { START[0] - DELTA_X, START[1] - DELTA_X, START[2] + DELTA_Y, START[3] + DELTA_Y });
+        gesturePause.playFromStart();
+    }
+
+    private void handleGestureEnd(final MouseEvent EVT) {
+        if (null == gestureStartBounds) { return; }
+        gesturePause.stop();
+        if (rubberBandZoom) {
+            zoomRectangle.setVisible(false);
+            if (zoomRectangle.getWidth() >= MIN_ZOOM_SIZE && zoomRectangle.getHeight() >= MIN_ZOOM_SIZE) {
+                final XYConfidencePane<T> REFERENCE = xyConfidencePanes.get(0);
+                final double[]            START     = gestureStartBounds;
+                final double              LEFT      = (zoomRectangle.getLayoutX() - REFERENCE.getLayoutX()) / REFERENCE.getWidth();
+                final double              RIGHT     = LEFT + zoomRectangle.getWidth() / REFERENCE.getWidth();
+                final double              TOP       = (zoomRectangle.getLayoutY() - REFERENCE.getLayoutY()) / REFERENCE.getHeight();
+                final double              BOTTOM    = TOP + zoomRectangle.getHeight() / REFERENCE.getHeight();
+                final double              RANGE_X   = START[1] - START[0];
+                final double              RANGE_Y   = START[3] - START[2];
+                previewBounds = new double[] { START[0] + LEFT * RANGE_X, START[0] + RIGHT * RANGE_X, START[3] - BOTTOM * RANGE_Y, START[3] - TOP * RANGE_Y };
+            }
+        }
+        gestureStartBounds = null;
+        commitPreview();
+    }
+
+    private void handleGestureScroll(final ScrollEvent EVT) {
+        if (!isPanAndZoomEnabled() || xyConfidencePanes.isEmpty() || 0 == EVT.getDeltaY()) { return; }
+        final XYConfidencePane<T> REFERENCE = xyConfidencePanes.get(0);
+        final double[]            BOUNDS    = null == previewBounds ? getBounds() : previewBounds;
+        final double              FACTOR    = EVT.getDeltaY() > 0 ? 1 / ZOOM_FACTOR : ZOOM_FACTOR;
+        // Keep the values under the mouse pointer in place
+        final double              X         = BOUNDS[0] + (EVT.getX() - REFERENCE.getLayoutX()) / REFERENCE.getWidth() * (BOUNDS[1] - BOUNDS[0]);
+        final double              Y         = BOUNDS[3] - (EVT.getY() - REFERENCE.getLayoutY()) / REFERENCE.getHeight() * (BOUNDS[3] - BOUNDS[2]);
+        preview(new double[] { X - (X - BOUNDS[0]) * FACTOR, X + (BOUNDS[1] - X) * FACTOR, Y - (Y - BOUNDS[2]) * FACTOR, Y + (BOUNDS[3] - Y) * FACTOR });
+        gesturePause.playFromStart();
+    }
+
+    // Only transforms what was drawn for the current bounds
+    private void preview(final double[] BOUNDS) {
+        previewBounds = BOUNDS;
+        xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.previewBounds(BOUNDS[0], BOUNDS[1], BOUNDS[2], BOUNDS[3]));
+        if (null != grid) { grid.previewRange(BOUNDS[0], BOUNDS[1], BOUNDS[2], BOUNDS[3]); }
+        axis.forEach(axis -> {
+            if (Orientation.HORIZONTAL == axis.getOrientation()) {
+                axis.previewRange(BOUNDS[0], BOUNDS[1]);
+            } else {
+                axis.previewRange(BOUNDS[2], BOUNDS[3]);
+            }
+        });
+    }
+
+    // Publishes the previewed bounds, everything is drawn once for them
+    private void commitPreview() {
+        if (null == previewBounds) { return; }
+        final double[] BOUNDS = previewBounds;
+        previewBounds = null;
+        setViewport(createViewport(BOUNDS));
+        xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.endPreview());
+        if (null != grid) { grid.endPreview(); }
+        axis.forEach(axis -> axis.endPreview());
+    }
+
+    private void cancelGesture() {
+        gesturePause.stop();
+        gestureStartBounds = null;
+        zoomRectangle.setVisible(false);
+        if (null == previewBounds) { return; }
+        previewBounds = null;
+        xyConfidencePanes.forEach(xyConfidencePane -> xyConfidencePane.endPreview());
+        if (null != grid) { grid.endPreview(); }
+        axis.forEach(axis -> axis.endPreview());
+    }
+
+    private double[] getBounds() {
+        final XYConfidencePane<T> REFERENCE = xyConfidencePanes.get(0);
+        return new double[] { REFERENCE.getLowerBoundX(), REFERENCE.getUpperBoundX(), REFERENCE.getLowerBoundY(), REFERENCE.getUpperBoundY() };
+    }
+
     private void checkReferenceZero() {
         boolean isReferenceZero = true;
         if (xyConfidencePanes.size() > 0) {
@@ -19,13 +19,18 @@ package com.chainstaysoftware.confidenceplot.charts;
 import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceItem;
 import com.chainstaysoftware.confidenceplot.charts.data.XYItem;
 import com.chainstaysoftware.confidenceplot.charts.series.Series;
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidencePyramid;
 import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
 import com.chainstaysoftware.confidenceplot.charts.event.CursorEvent;
+import com.chainstaysoftware.confidenceplot.charts.event.CursorHit;
 import com.chainstaysoftware.confidenceplot.charts.event.CursorEventListener;
 import com.chainstaysoftware.confidenceplot.charts.event.SeriesEventListener;
+import com.chainstaysoftware.confidenceplot.charts.tools.Decimation;
+import com.chainstaysoftware.confidenceplot.charts.tools.Decimator;
 import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
 import com.chainstaysoftware.confidenceplot.charts.tools.TooltipPopup;
-import eu.hansolo.toolboxfx.geom.Point;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -36,18 +41,31 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
-import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.chainstaysoftware.confidenceplot.charts.tools.Helper.clamp;
 
@@ -79,6 +97,9 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     private              GraphicsContext                cursorCtx;
     private              double                         cursorX;
     private              double                         cursorY;
+    private              double                         cursorScreenX;
+    private              double                         cursorScreenY;
+    private              boolean                        cursorPending;
     private              double                         scaleX;
     private              double                         scaleY;
     private              double                         symbolSize;
@@ -102,10 +123,51 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     private              BooleanProperty                crossHairVisible;
     private              Color                          _crossHairColor;
     private              ObjectProperty<Color>          crossHairColor;
+    private              boolean                        _crossHairSnapping;
+    private              BooleanProperty                crossHairSnapping;
+    private              Decimation                     _decimation;
+    private              ObjectProperty<Decimation>     decimation;
+    private              int[]                          decimatedIndices;
+    private              double[]                       columnX;
+    private              double[]                       columnYMin;
+    private              double[]                       columnYMax;
+    private              Map<XYConfidenceSeries<T>, SplineGeometry> splineGeometries;
+    private              AnimationTimer                 redrawTimer;
+    private              boolean                        redrawPending;
+    private              boolean                        settingBounds;
+    private              boolean                        _layered;
+    private              BooleanProperty                layered;
+    private              Map<XYConfidenceSeries<T>, Canvas> seriesLayers;
+    private              Map<XYConfidenceSeries<T>, ChartType> layerChartTypes;
+    private              Set<XYConfidenceSeries<T>>     dirtySeries;
+    private              boolean                        backgroundDirty;
+    private              boolean                        allDirty;
+    private              boolean                        _asyncGeometry;
+    private              BooleanProperty                asyncGeometry;
+    private              ExecutorService                geometryExecutor;
+    private              Map<XYConfidenceSeries<T>, ScreenGeometry> screenGeometries;
+    private              Map<XYConfidenceSeries<T>, ScreenGeometry.Key> requestedGeometries;
+    private              SymbolAtlas                    symbolAtlas;
+    private              RenderBackend                  _renderBackend;
+    private              ObjectProperty<RenderBackend>  renderBackend;
+    private              PixelRasterizer                rasterizer;
+    private              PixelBuffer<IntBuffer>         pixelBuffer;
+    private              ImageView                      rasterView;
+    private              DensityMap                     densityMap;
+    private              List<XYConfidenceSeries<T>>    densitySeries;
+    private              int[]                          densityFrom;
+    private              int[]                          densityTo;
+    private              Color                          densityLowColor;
+    private              Color                          densityHighColor;
+    private              HitTestIndex                   hitTestIndex;
+    private              SnapshotProjection             projection;
     private              TooltipPopup                   popup;
     private              SeriesEventListener            seriesListener;
     private              EventHandler<MouseEvent>       mouseHandler;
     private              List<CursorEventListener>      cursorEventListeners;
+    private              List<CursorEventListener>      asyncCursorEventListeners;
+    private              ExecutorService                cursorEventExecutor;
+    private              AtomicReference<CursorEvent>   pendingCursorEvent;
 
 
 
@@ -123,6 +185,8 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         getStylesheets().add(XYConfidencePane.class.getResource("chart.css").toExternalForm());
         aspectRatio          = PREFERRED_HEIGHT / PREFERRED_WIDTH;
         cursorEventListeners = new CopyOnWriteArrayList<>();
+        asyncCursorEventListeners = new CopyOnWriteArrayList<>();
+        pendingCursorEvent   = new AtomicReference<>();
         keepAspect           = false;
         _chartBackground     = BACKGROUND;
         listOfSeries         = FXCollections.observableArrayList(SERIES);
@@ -140,27 +204,60 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         _thresholdYColor     = Color.RED;
         _crossHairVisible    = false;
         _crossHairColor      = Color.GRAY;
+        _crossHairSnapping   = false;
+        _decimation          = Decimation.NONE;
+        decimatedIndices     = new int[0];
+        columnX              = new double[0];
+        columnYMin           = new double[0];
+        columnYMax           = new double[0];
+        splineGeometries     = new HashMap<>();
+        redrawPending        = false;
+        settingBounds        = false;
+        _layered             = false;
+        seriesLayers         = new HashMap<>();
+        layerChartTypes      = new HashMap<>();
+        dirtySeries          = new HashSet<>();
+        backgroundDirty      = true;
+        allDirty             = true;
+        _asyncGeometry       = false;
+        screenGeometries     = new HashMap<>();
+        requestedGeometries  = new ConcurrentHashMap<>();
+        _renderBackend       = RenderBackend.CANVAS;
+        densityLowColor      = Color.rgb(0, 0, 255, 0.2);
+        densitySeries        = new ArrayList<>();
+        densityFrom          = new int[0];
+        densityTo            = new int[0];
+        densityHighColor     = Color.rgb(255, 0, 0, 1.0);
+        redrawTimer          = new AnimationTimer() {
+            @Override public void handle(final long NOW) {
+                stop();
+                if (redrawPending) {
+                    redrawPending = false;
+                    drawChart();
+                }
+                drawCursor();
+                if (cursorPending) {
+                    cursorPending = false;
+                    updateTooltip();
+                }
+            }
+        };
         cursorX              = -1;
         cursorY              = -1;
+        cursorPending        = false;
         popup                = new TooltipPopup(2000);
-        seriesListener       = e -> redraw();
+        seriesListener       = e -> redrawSeries(e.getSeries());
+        hitTestIndex         = new HitTestIndex();
+        projection           = new SnapshotProjection(this);
+        // Only keeps the latest position, the cross hair and the tooltip follow it once per pulse
         mouseHandler         = e -> {
-            cursorX = e.getX();
-            cursorY = e.getY();
-            drawCursor();
-            for (XYConfidenceSeries<T> series : listOfSeries) {
-                double  radius = series.getSymbolSize() * 0.5;
-                for (T item : series.getItems()) {
-                    Point2D pointInScene = localToScene(new Point2D((item.getX() - getLowerBoundX()) * scaleX , height - (item.getY() - getLowerBoundY()) * scaleY));
-                    if (Helper.isInCircle(e.getSceneX(), e.getSceneY(), pointInScene.getX(), pointInScene.getY(), radius) && !item.getTooltipText().isEmpty() && !popup.getText().equals(item.getTooltipText())) {
-                        popup.setX(e.getScreenX());
-                        popup.setY(e.getScreenY() - popup.getHeight());
-                        popup.setText(item.getTooltipText());
-                        popup.animatedShow(getScene().getWindow());
-                        break;
-                    }
-                }
-            }
+            cursorX       = e.getX();
+            cursorY       = e.getY();
+            cursorScreenX = e.getScreenX();
+            cursorScreenY = e.getScreenY();
+            if (cursorPending) { return; }
+            cursorPending = true;
+            redrawTimer.start();
         };
         popup.setOnHiding(e -> popup.setText(""));
 
@@ -190,6 +287,8 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         Helper.enableNode(cursorCanvas, true);
         cursorCtx    = cursorCanvas.getGraphicsContext2D();
 
+        rasterView = new ImageView();
+
         getChildren().setAll(canvas, cursorCanvas);
     }
 
@@ -201,17 +300,27 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
                 if (c.wasAdded()) {
                     c.getAddedSubList().forEach(series -> series.setOnSeriesEvent(seriesListener));
                 } else if (c.wasRemoved()) {
-                    c.getRemoved().forEach(series -> series.removeSeriesEventListener(seriesListener));
+                    c.getRemoved().forEach(series -> {
+                        series.removeSeriesEventListener(seriesListener);
+                        splineGeometries.remove(series);
+                        screenGeometries.remove(series);
+                        requestedGeometries.remove(series);
+                    });
                 }
             }
-            redraw();
+            if (isLayered() && RenderBackend.CANVAS == getRenderBackend()) {
+                updateLayers();
+            } else {
+                redraw();
+            }
         });
         listOfSeries.forEach(series -> {
             if (null != series) {
-                series.setOnSeriesEvent(seriesEvent -> redraw());
+                series.setOnSeriesEvent(seriesListener);
             }
         });
         canvas.addEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
+        rasterView.addEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
     }
 
 
@@ -227,14 +336,115 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
 
     public void dispose() {
         canvas.removeEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
+        rasterView.removeEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
         removeAllCursorEventListeners();
+        redrawTimer.stop();
+        redrawPending = false;
+        cursorPending = false;
+        if (null != geometryExecutor) {
+            geometryExecutor.shutdownNow();
+            geometryExecutor = null;
+        }
+        if (null != cursorEventExecutor) {
+            cursorEventExecutor.shutdownNow();
+            cursorEventExecutor = null;
+        }
+        pendingCursorEvent.set(null);
+    }
+
+    public boolean isLayered() { return null == layered ? _layered : layered.get(); }
+    /**
+     * In layered mode every series is drawn on its own canvas (stacked in
+     * the order of the series) on top of a layer with the background and the
+     * threshold. A series event then only repaints the layer of that series.
+     */
+    public void setLayered(final boolean LAYERED) {
+        if (null == layered) {
+            _layered = LAYERED;
+            updateLayers();
+        } else {
+            layered.set(LAYERED);
+        }
+    }
+    public BooleanProperty layeredProperty() {
+        if (null == layered) {
+            layered = new BooleanPropertyBase(_layered) {
+                @Override protected void invalidated() { updateLayers(); }
+                @Override public Object getBean() { return XYConfidencePane.this; }
+                @Override public String getName() { return "layered"; }
+            };
+        }
+        return layered;
+    }
+
+    public boolean isAsyncGeometry() { return null == asyncGeometry ? _asyncGeometry : asyncGeometry.get(); }
+    /**
+     * If enabled the screen geometry of line and smooth line series is
+     * computed on a background thread. Until a result for the current data
+     * and bounds is available the previous one is shown.
+     */
+    public void setAsyncGeometry(final boolean ASYNC) {
+        if (null == asyncGeometry) {
+            _asyncGeometry = ASYNC;
+            redraw();
+        } else {
+            asyncGeometry.set(ASYNC);
+        }
+    }
+    public BooleanProperty asyncGeometryProperty() {
+        if (null == asyncGeometry) {
+            asyncGeometry = new BooleanPropertyBase(_asyncGeometry) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return XYConfidencePane.this; }
+                @Override public String getName() { return "asyncGeometry"; }
+            };
+        }
+        return asyncGeometry;
+    }
+
+    public RenderBackend getRenderBackend() { return null == renderBackend ? _renderBackend : renderBackend.get(); }
+    /**
+     * With PIXEL_BUFFER the series are rasterized in software into an int
+     * buffer that is shared with an ImageView, rows are rendered in parallel.
+     * Only Color paints are supported and the layered mode is ignored.
+     */
+    public void setRenderBackend(final RenderBackend BACKEND) {
+        if (null == renderBackend) {
+            _renderBackend = BACKEND;
+            updateLayers();
+        } else {
+            renderBackend.set(BACKEND);
+        }
+    }
+    public ObjectProperty<RenderBackend> renderBackendProperty() {
+        if (null == renderBackend) {
+            renderBackend = new ObjectPropertyBase<>(_renderBackend) {
+                @Override protected void invalidated() { updateLayers(); }
+                @Override public Object getBean() { return XYConfidencePane.this; }
+                @Override public String getName() { return "renderBackend"; }
+            };
+            _renderBackend = null;
+        }
+        return renderBackend;
+    }
+
+    public Color getDensityLowColor() { return densityLowColor; }
+    public Color getDensityHighColor() { return densityHighColor; }
+    /**
+     * Colors of the ramp that maps the coverage counts of CONFIDENCE_DENSITY
+     * series, LOW is used for the least and HIGH for the most covered pixels.
+     */
+    public void setDensityColors(final Color LOW, final Color HIGH) {
+        densityLowColor  = LOW;
+        densityHighColor = HIGH;
+        redraw();
     }
 
     public Paint getChartBackground() { return null == chartBackground ? _chartBackground : chartBackground.get(); }
     public void setChartBackground(final Paint PAINT) {
         if (null == chartBackground) {
             _chartBackground = PAINT;
-            redraw();
+            redrawBackground();
         } else {
             chartBackground.set(PAINT);
         }
@@ -242,7 +452,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public ObjectProperty<Paint> chartBackgroundProperty() {
         if (null == chartBackground) {
             chartBackground = new ObjectPropertyBase<Paint>(_chartBackground) {
-                @Override protected void invalidated() { redraw(); }
+                @Override protected void invalidated() { redrawBackground(); }
                 @Override public Object getBean() { return XYConfidencePane.this; }
                 @Override public String getName() { return "chartBackground"; }
             };
@@ -337,6 +547,29 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         return upperBoundY;
     }
 
+    /**
+     * Sets all four bounds at once, the pane is laid out and redrawn only once
+     * instead of once per bound.
+     */
+    public void setBounds(final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double LOWER_BOUND_Y, final double UPPER_BOUND_Y) {
+        settingBounds = true;
+        try {
+            setLowerBoundX(LOWER_BOUND_X);
+            setUpperBoundX(UPPER_BOUND_X);
+            setLowerBoundY(LOWER_BOUND_Y);
+            setUpperBoundY(UPPER_BOUND_Y);
+        } finally {
+            settingBounds = false;
+        }
+        resize();
+    }
+
+    public Viewport getViewport() { return new Viewport(getLowerBoundX(), getUpperBoundX(), getLowerBoundY(), getUpperBoundY()); }
+    public void setViewport(final Viewport VIEWPORT) {
+        if (VIEWPORT.equals(getViewport())) { return; }
+        setBounds(VIEWPORT.getLowerBoundX(), VIEWPORT.getUpperBoundX(), VIEWPORT.getLowerBoundY(), VIEWPORT.getUpperBoundY());
+    }
+
     public boolean isReferenceZero() { return referenceZero; }
     public void setReferenceZero(final boolean IS_ZERO) {
         referenceZero = IS_ZERO;
@@ -352,6 +585,9 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public double getDataMinY() { return listOfSeries.stream().mapToDouble(XYConfidenceSeries::getMinY).min().getAsDouble(); }
     public double getDataMaxY() { return listOfSeries.stream().mapToDouble(XYConfidenceSeries::getMaxY).max().getAsDouble(); }
 
+    public double getDataMinYMin() { return listOfSeries.stream().mapToDouble(XYConfidenceSeries::getMinYMin).min().getAsDouble(); }
+    public double getDataMaxYMax() { return listOfSeries.stream().mapToDouble(XYConfidenceSeries::getMaxYMax).max().getAsDouble(); }
+
     public double getDataRangeX() { return getDataMaxX() - getDataMinX(); }
     public double getDataRangeY() { return getDataMaxY() - getDataMinY(); }
     
@@ -361,7 +597,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public void setThresholdY(final double THRESHOLD) {
         if (null == thresholdY) {
             _thresholdY = THRESHOLD;
-            redraw();
+            redrawBackground();
         } else {
             thresholdY.set(THRESHOLD);
         }
@@ -369,7 +605,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public DoubleProperty thresholdYProperty() {
         if (null == thresholdY) {
             thresholdY = new DoublePropertyBase(_thresholdY) {
-                @Override protected void invalidated() { redraw(); }
+                @Override protected void invalidated() { redrawBackground(); }
                 @Override public Object getBean() { return XYConfidencePane.this; }
                 @Override public String getName() { return "thresholdY"; }
             };
@@ -381,7 +617,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public void setThresholdYVisible(final boolean VISIBLE) {
         if (null == thresholdYVisible) {
             _thresholdYVisible = VISIBLE;
-            redraw();
+            redrawBackground();
         } else {
             thresholdYVisible.set(VISIBLE);
         }
@@ -389,7 +625,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public BooleanProperty thresholdYVisibleProperty() {
         if (null == thresholdYVisible) {
             thresholdYVisible = new BooleanPropertyBase(_thresholdYVisible) {
-                @Override protected void invalidated() { redraw(); }
+                @Override protected void invalidated() { redrawBackground(); }
                 @Override public Object getBean() { return XYConfidencePane.this; }
                 @Override public String getName() { return "thresholdYVisible"; }
             };
@@ -401,7 +637,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public void setThresholdYColor(final Color COLOR) {
         if (null == thresholdYColor) {
             _thresholdYColor = COLOR;
-            redraw();
+            redrawBackground();
         } else {
             thresholdYColor.set(COLOR);
         }
@@ -409,7 +645,7 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
     public ObjectProperty<Color> thresholdYColorProperty() {
         if (null == thresholdYColor) {
             thresholdYColor = new ObjectPropertyBase<Color>(_thresholdYColor) {
-                @Override protected void invalidated() { redraw(); }
+                @Override protected void invalidated() { redrawBackground(); }
                 @Override public Object getBean() { return XYConfidencePane.this; }
                 @Override public String getName() { return "thresholdYColor"; }
             };
@@ -462,60 +698,673 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         return crossHairColor;
     }
 
+    /**
+     * If true the cross hair jumps to the closest sample and the cursor events
+     * carry the sample of every series at that x.
+     */
+    public boolean isCrossHairSnapping() { return null == crossHairSnapping ? _crossHairSnapping : crossHairSnapping.get(); }
+    public void setCrossHairSnapping(final boolean SNAPPING) {
+        if (null == crossHairSnapping) {
+            _crossHairSnapping = SNAPPING;
+            drawCursor();
+        } else {
+            crossHairSnapping.set(SNAPPING);
+        }
+    }
+    public BooleanProperty crossHairSnappingProperty() {
+        if (null == crossHairSnapping) {
+            crossHairSnapping = new BooleanPropertyBase(_crossHairSnapping) {
+                @Override protected void invalidated() { drawCursor(); }
+                @Override public Object getBean() { return XYConfidencePane.this; }
+                @Override public String getName() { return "crossHairSnapping"; }
+            };
+        }
+        return crossHairSnapping;
+    }
+
+    public Decimation getDecimation() { return null == decimation ? _decimation : decimation.get(); }
+    public void setDecimation(final Decimation DECIMATION) {
+        if (null == decimation) {
+            _decimation = DECIMATION;
+            redraw();
+        } else {
+            decimation.set(DECIMATION);
+        }
+    }
+    public ObjectProperty<Decimation> decimationProperty() {
+        if (null == decimation) {
+            decimation = new ObjectPropertyBase<>(_decimation) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return XYConfidencePane.this; }
+                @Override public String getName() { return "decimation"; }
+            };
+            _decimation = null;
+        }
+        return decimation;
+    }
+
 
     // ******************** Draw Chart ****************************************
+    // Only marks the pane dirty, it is drawn on the next pulse no matter how often this gets called before
     protected void redraw() {
-        drawChart();
-        drawCursor();
+        allDirty = true;
+        scheduleRedraw();
+    }
+
+    private void redrawSeries(final Series<?> SERIES) {
+        final int INDEX = listOfSeries.indexOf(SERIES);
+        if (INDEX >= 0) { dirtySeries.add(listOfSeries.get(INDEX)); }
+        scheduleRedraw();
+    }
+
+    private void redrawBackground() {
+        backgroundDirty = true;
+        scheduleRedraw();
+    }
+
+    private void scheduleRedraw() {
+        hitTestIndex.invalidate();
+        if (redrawPending) { return; }
+        redrawPending = true;
+        redrawTimer.start();
     }
 
     private void drawChart() {
+        if (RenderBackend.PIXEL_BUFFER == getRenderBackend()) {
+            drawPixelBuffer();
+        } else if (isLayered()) {
+            drawLayers();
+        } else {
+            drawSingleCanvas();
+        }
+        dirtySeries.clear();
+        backgroundDirty = false;
+        allDirty        = false;
+    }
+
+    private void drawSingleCanvas() {
         if (null == listOfSeries || listOfSeries.isEmpty()) { return; }
 
-        ctx.clearRect(0, 0, width, height);
-        ctx.setFill(getChartBackground());
-        ctx.fillRect(0, 0, width, height);
+        drawBackground();
 
         if (listOfSeries.size() == 2) {
             boolean     deltaChart = false;
             ChartType[] chartTypes = new ChartType[2];
             int         count      = 0;
-            for(Series series : listOfSeries) {
+            for(XYConfidenceSeries<T> series : listOfSeries) {
                 chartTypes[count] = series.getChartType();
                 count++;
             }
         }
 
+        for (XYConfidenceSeries<T> series : listOfSeries) { drawSeries(series); }
+    }
+
+    // Only repaints the layers that are dirty, the series are drawn by swapping ctx to the layer of the series
+    private void drawLayers() {
+        if (allDirty || backgroundDirty) { drawBackground(); }
+        // The density map of all density series lives on the layer of the first one, a series that left the density type also changes it
+        boolean densityDirty = false;
+        for (XYConfidenceSeries<T> series : dirtySeries) {
+            if (ChartType.CONFIDENCE_DENSITY == series.getChartType() || ChartType.CONFIDENCE_DENSITY == layerChartTypes.get(series)) { densityDirty = true; }
+        }
+        final GraphicsContext BACKGROUND_CTX = ctx;
         for (XYConfidenceSeries<T> series : listOfSeries) {
-            final ChartType TYPE        = series.getChartType();
-            final boolean   SHOW_POINTS = series.getSymbolsVisible();
-            switch (TYPE) {
-                case CONFIDENCE_LINE -> drawConfidenceLine(series, SHOW_POINTS);
-                case CONFIDENCE_SMOOTH_LINE -> drawConfidenceSmoothLine(series, SHOW_POINTS);
+            final boolean IS_DIRTY = allDirty || dirtySeries.contains(series) || (densityDirty && ChartType.CONFIDENCE_DENSITY == series.getChartType());
+            if (!IS_DIRTY) { continue; }
+            final Canvas LAYER = seriesLayers.get(series);
+            if (null == LAYER) { continue; }
+            ctx = LAYER.getGraphicsContext2D();
+            ctx.clearRect(0, 0, width, height);
+            layerChartTypes.put(series, series.getChartType());
+            try {
+                drawSeries(series);
+            } finally {
+                ctx = BACKGROUND_CTX;
+            }
+        }
+    }
+
+    /**
+     * Records all series into the display list of the rasterizer and renders
+     * it into the pixel buffer. The buffer has the size of the chart in
+     * device pixels and the image view scales it back to the chart size.
+     */
+    private void drawPixelBuffer() {
+        final double RENDER_SCALE = getRenderScale();
+        final int    PIXEL_WIDTH  = (int) Math.ceil(width * RENDER_SCALE);
+        final int    PIXEL_HEIGHT = (int) Math.ceil(height * RENDER_SCALE);
+        if (PIXEL_WIDTH <= 0 || PIXEL_HEIGHT <= 0) { return; }
+        if (null == rasterizer) { rasterizer = new PixelRasterizer(); }
+        if (rasterizer.reset(PIXEL_WIDTH, PIXEL_HEIGHT, RENDER_SCALE, getChartBackground()) || null == pixelBuffer) {
+            pixelBuffer = new PixelBuffer<>(PIXEL_WIDTH, PIXEL_HEIGHT, IntBuffer.wrap(rasterizer.getPixels()), PixelFormat.getIntArgbPreInstance());
+            rasterView.setImage(new WritableImage(pixelBuffer));
+        }
+        rasterView.setFitWidth(PIXEL_WIDTH / RENDER_SCALE);
+        rasterView.setFitHeight(PIXEL_HEIGHT / RENDER_SCALE);
+        if (isThresholdYVisible()) {
+            final double Y = height - (getThresholdY() - getLowerBoundY()) * scaleY;
+            rasterizer.line(0, Y, width, Y, 1, getThresholdYColor());
+        }
+        for (XYConfidenceSeries<T> series : listOfSeries) { rasterizeSeries(series, RENDER_SCALE); }
+        // null marks the whole buffer as dirty
+        pixelBuffer.updateBuffer(buffer -> {
+            rasterizer.rasterize();
+            return null;
+        });
+    }
+
+    // Takes the same pyramid and decimation shortcuts as drawSeries()
+    private void rasterizeSeries(final XYConfidenceSeries<T> SERIES, final double RENDER_SCALE) {
+        if (ChartType.CONFIDENCE_DENSITY == SERIES.getChartType()) {
+            if (updateDensityMap(SERIES, RENDER_SCALE)) { rasterizer.overlay(densityMap.getPixels()); }
+            return;
+        }
+        if (SERIES.getNoOfItems() == 0) { return; }
+        final double LINE_WIDTH = SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025;
+        if (SERIES.isPyramidEnabled() && SERIES.isSortedByX()) {
+            final XYConfidencePyramid PYRAMID = SERIES.getPyramid();
+            final int[]               RANGE   = getVisibleRange(SERIES, 1);
+            final int                 LEVEL   = getPyramidLevel(PYRAMID, RANGE[1] - RANGE[0]);
+            if (LEVEL > -1) {
+                rasterizePyramidLine(SERIES, PYRAMID, LEVEL, RANGE[0], RANGE[1], LINE_WIDTH);
+                return;
+            }
+        }
+        if (Decimation.NONE != getDecimation() && SERIES.isSortedByX()) {
+            final int[] RANGE = getVisibleRange(SERIES, 1);
+            if (RANGE[1] - RANGE[0] > 2 * width) {
+                rasterizeDecimatedLine(SERIES, RANGE[0], RANGE[1], LINE_WIDTH);
+                return;
+            }
+        }
+
+        final double  LOWER_BOUND_X = getLowerBoundX();
+        final double  LOWER_BOUND_Y = getLowerBoundY();
+        final boolean SMOOTH        = ChartType.CONFIDENCE_SMOOTH_LINE == SERIES.getChartType();
+        final boolean SHOW_BAND     = SERIES.getConfidenceIntervalVisible();
+        final Paint   BAND_FILL     = SERIES.getConfidenceIntervalFill();
+        final Paint   BAND_STROKE   = SERIES.getConfidenceIntervalStroke();
+        final Paint   STROKE        = SERIES.getStroke();
+        final int[]   RANGE         = getVisibleRange(SERIES, SMOOTH ? 2 : 1);
+        final int     FROM          = RANGE[0];
+        final int     TO            = RANGE[1];
+
+        if (SMOOTH) {
+            final SplineGeometry GEOMETRY = splineGeometries.computeIfAbsent(SERIES, series -> new SplineGeometry());
+            if (!GEOMETRY.isValid(SERIES.getModificationCount(), FROM, TO)) { GEOMETRY.update(SERIES, FROM, TO, SUB_DIVISIONS); }
+            final int NO_OF_POINTS = GEOMETRY.getNoOfPoints();
+            if (SHOW_BAND) {
+                for (int i = 1 ; i < NO_OF_POINTS ; i++) {
+                    rasterizer.bandSegment((GEOMETRY.getX(i - 1) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getYMax(i - 1) - LOWER_BOUND_Y) * scaleY, height - (GEOMETRY.getYMin(i - 1) - LOWER_BOUND_Y) * scaleY,
+                                           (GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getYMax(i) - LOWER_BOUND_Y) * scaleY, height - (GEOMETRY.getYMin(i) - LOWER_BOUND_Y) * scaleY, BAND_FILL);
+                }
+                rasterizer.beginPolyline(1, BAND_STROKE);
+                for (int i = 0 ; i < NO_OF_POINTS ; i++) { rasterizer.lineTo((GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getYMax(i) - LOWER_BOUND_Y) * scaleY); }
+                rasterizer.beginPolyline(1, BAND_STROKE);
+                for (int i = 0 ; i < NO_OF_POINTS ; i++) { rasterizer.lineTo((GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getYMin(i) - LOWER_BOUND_Y) * scaleY); }
+                rasterizer.endPolyline();
+            }
+            final int NO_OF_ITEMS  = TO - FROM;
+            final int LAST_SEGMENT = Math.max(0, NO_OF_ITEMS - 2);
+            boolean   connected    = false;
+            for (int i = 1 ; i < NO_OF_POINTS ; i++) {
+                final int SEGMENT = FROM + Math.min(i / SUB_DIVISIONS, LAST_SEGMENT);
+                if (SERIES.isEmptyItem(SEGMENT) || (NO_OF_ITEMS > 1 && SERIES.isEmptyItem(SEGMENT + 1))) {
+                    connected = false;
+                    continue;
+                }
+                if (!connected) {
+                    rasterizer.beginPolyline(LINE_WIDTH, STROKE);
+                    rasterizer.lineTo((GEOMETRY.getX(i - 1) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getY(i - 1) - LOWER_BOUND_Y) * scaleY);
+                    connected = true;
+                }
+                rasterizer.lineTo((GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getY(i) - LOWER_BOUND_Y) * scaleY);
+            }
+            rasterizer.endPolyline();
+        } else {
+            if (SHOW_BAND) {
+                for (int i = FROM + 1 ; i < TO ; i++) {
+                    rasterizer.bandSegment((SERIES.getX(i - 1) - LOWER_BOUND_X) * scaleX, height - (SERIES.getYMax(i - 1) - LOWER_BOUND_Y) * scaleY, height - (SERIES.getYMin(i - 1) - LOWER_BOUND_Y) * scaleY,
+                                           (SERIES.getX(i) - LOWER_BOUND_X) * scaleX, height - (SERIES.getYMax(i) - LOWER_BOUND_Y) * scaleY, height - (SERIES.getYMin(i) - LOWER_BOUND_Y) * scaleY, BAND_FILL);
+                }
+                rasterizer.beginPolyline(1, BAND_STROKE);
+                for (int i = FROM ; i < TO ; i++) { rasterizer.lineTo((SERIES.getX(i) - LOWER_BOUND_X) * scaleX, height - (SERIES.getYMax(i) - LOWER_BOUND_Y) * scaleY); }
+                rasterizer.beginPolyline(1, BAND_STROKE);
+                for (int i = FROM ; i < TO ; i++) { rasterizer.lineTo((SERIES.getX(i) - LOWER_BOUND_X) * scaleX, height - (SERIES.getYMin(i) - LOWER_BOUND_Y) * scaleY); }
+                rasterizer.endPolyline();
             }
+            rasterizeLine(SERIES, null, FROM, TO, LINE_WIDTH);
         }
+
+        if (!SERIES.getSymbolsVisible()) { return; }
+        for (int i = FROM ; i < TO ; i++) { rasterizeSymbol(SERIES, i); }
+    }
+
+    // Centre line through the given items, or through INDICES[FROM] to INDICES[TO - 1] if INDICES is not null
+    private void rasterizeLine(final XYConfidenceSeries<T> SERIES, final int[] INDICES, final int FROM, final int TO, final double LINE_WIDTH) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        boolean      connected     = false;
+        for (int i = FROM ; i < TO ; i++) {
+            final int INDEX = null == INDICES ? i : INDICES[i];
+            if (SERIES.isEmptyItem(INDEX)) {
+                connected = false;
+                continue;
+            }
+            if (!connected) {
+                rasterizer.beginPolyline(LINE_WIDTH, SERIES.getStroke());
+                connected = true;
+            }
+            rasterizer.lineTo((SERIES.getX(INDEX) - LOWER_BOUND_X) * scaleX, height - (SERIES.getY(INDEX) - LOWER_BOUND_Y) * scaleY);
+        }
+        rasterizer.endPolyline();
+    }
+
+    private void rasterizeSymbol(final XYConfidenceSeries<T> SERIES, final int INDEX) {
+        if (SERIES.isEmptyItem(INDEX)) { return; }
+        final double SYMBOL_SIZE = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
+        final double X           = (SERIES.getX(INDEX) - getLowerBoundX()) * scaleX;
+        final double Y           = height - (SERIES.getY(INDEX) - getLowerBoundY()) * scaleY;
+        final T      ITEM        = SERIES.isItemBacked() ? SERIES.getItem(INDEX) : null;
+        if (null == ITEM || Symbol.NONE == ITEM.getSymbol()) {
+            rasterizer.symbol(X, Y, SERIES.getSymbol(), SYMBOL_SIZE, SERIES.getSymbolFill(), SERIES.getSymbolStroke());
+        } else {
+            rasterizer.symbol(X, Y, ITEM.getSymbol(), SYMBOL_SIZE, ITEM.getFill(), ITEM.getStroke());
+        }
+    }
+
+    // Same envelope and line as drawDecimatedLine()
+    private void rasterizeDecimatedLine(final XYConfidenceSeries<T> SERIES, final int FROM, final int TO, final double LINE_WIDTH) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final int    PIXEL_WIDTH   = (int) Math.ceil(width);
+        if (SERIES.getConfidenceIntervalVisible()) {
+            final int   NO_OF_COLUMNS = computeColumns(SERIES, FROM, TO, PIXEL_WIDTH);
+            final Paint BAND_STROKE   = SERIES.getConfidenceIntervalStroke();
+            for (int i = 1 ; i < NO_OF_COLUMNS ; i++) {
+                rasterizer.bandSegment((columnX[i - 1] - LOWER_BOUND_X) * scaleX, height - (columnYMax[i - 1] - LOWER_BOUND_Y) * scaleY, height - (columnYMin[i - 1] - LOWER_BOUND_Y) * scaleY,
+                                       (columnX[i] - LOWER_BOUND_X) * scaleX, height - (columnYMax[i] - LOWER_BOUND_Y) * scaleY, height - (columnYMin[i] - LOWER_BOUND_Y) * scaleY,
+                                       SERIES.getConfidenceIntervalFill());
+            }
+            rasterizer.beginPolyline(1, BAND_STROKE);
+            for (int i = 0 ; i < NO_OF_COLUMNS ; i++) { rasterizer.lineTo((columnX[i] - LOWER_BOUND_X) * scaleX, height - (columnYMax[i] - LOWER_BOUND_Y) * scaleY); }
+            rasterizer.beginPolyline(1, BAND_STROKE);
+            for (int i = 0 ; i < NO_OF_COLUMNS ; i++) { rasterizer.lineTo((columnX[i] - LOWER_BOUND_X) * scaleX, height - (columnYMin[i] - LOWER_BOUND_Y) * scaleY); }
+            rasterizer.endPolyline();
+        }
+        final int NO_OF_INDICES = computeDecimatedIndices(SERIES, FROM, TO, PIXEL_WIDTH);
+        rasterizeLine(SERIES, decimatedIndices, 0, NO_OF_INDICES, LINE_WIDTH);
+        if (SERIES.getSymbolsVisible()) {
+            for (int i = 0 ; i < NO_OF_INDICES ; i++) { rasterizeSymbol(SERIES, decimatedIndices[i]); }
+        }
+    }
+
+    // Same envelope and first/min/max/last line as drawPyramidLine()
+    private void rasterizePyramidLine(final XYConfidenceSeries<T> SERIES, final XYConfidencePyramid PYRAMID, final int LEVEL, final int FROM, final int TO, final double LINE_WIDTH) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final int    FIRST_BUCKET  = PYRAMID.getBucketIndex(LEVEL, FROM);
+        final int    LAST_BUCKET   = PYRAMID.getBucketIndex(LEVEL, TO - 1);
+        if (SERIES.getConfidenceIntervalVisible()) {
+            final Paint BAND_STROKE = SERIES.getConfidenceIntervalStroke();
+            for (int i = FIRST_BUCKET + 1 ; i <= LAST_BUCKET ; i++) {
+                rasterizer.bandSegment(((PYRAMID.getFirstX(LEVEL, i - 1) + PYRAMID.getLastX(LEVEL, i - 1)) * 0.5 - LOWER_BOUND_X) * scaleX,
+                                       height - (PYRAMID.getMaxYMax(LEVEL, i - 1) - LOWER_BOUND_Y) * scaleY, height - (PYRAMID.getMinYMin(LEVEL, i - 1) - LOWER_BOUND_Y) * scaleY,
+                                       ((PYRAMID.getFirstX(LEVEL, i) + PYRAMID.getLastX(LEVEL, i)) * 0.5 - LOWER_BOUND_X) * scaleX,
+                                       height - (PYRAMID.getMaxYMax(LEVEL, i) - LOWER_BOUND_Y) * scaleY, height - (PYRAMID.getMinYMin(LEVEL, i) - LOWER_BOUND_Y) * scaleY,
+                                       SERIES.getConfidenceIntervalFill());
+            }
+            rasterizer.beginPolyline(1, BAND_STROKE);
+            for (int i = FIRST_BUCKET ; i <= LAST_BUCKET ; i++) {
+                rasterizer.lineTo(((PYRAMID.getFirstX(LEVEL, i) + PYRAMID.getLastX(LEVEL, i)) * 0.5 - LOWER_BOUND_X) * scaleX, height - (PYRAMID.getMaxYMax(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            }
+            rasterizer.beginPolyline(1, BAND_STROKE);
+            for (int i = FIRST_BUCKET ; i <= LAST_BUCKET ; i++) {
+                rasterizer.lineTo(((PYRAMID.getFirstX(LEVEL, i) + PYRAMID.getLastX(LEVEL, i)) * 0.5 - LOWER_BOUND_X) * scaleX, height - (PYRAMID.getMinYMin(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            }
+            rasterizer.endPolyline();
+        }
+        boolean connected = false;
+        for (int i = FIRST_BUCKET ; i <= LAST_BUCKET ; i++) {
+            final double FIRST_Y = PYRAMID.getFirstY(LEVEL, i);
+            if (Double.isNaN(FIRST_Y)) {
+                connected = false;
+                continue;
+            }
+            final double FIRST_X  = (PYRAMID.getFirstX(LEVEL, i) - LOWER_BOUND_X) * scaleX;
+            final double LAST_X   = (PYRAMID.getLastX(LEVEL, i) - LOWER_BOUND_X) * scaleX;
+            final double CENTER_X = (FIRST_X + LAST_X) * 0.5;
+            if (!connected) { rasterizer.beginPolyline(LINE_WIDTH, SERIES.getStroke()); }
+            rasterizer.lineTo(FIRST_X, height - (FIRST_Y - LOWER_BOUND_Y) * scaleY);
+            rasterizer.lineTo(CENTER_X, height - (PYRAMID.getMinY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            rasterizer.lineTo(CENTER_X, height - (PYRAMID.getMaxY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            rasterizer.lineTo(LAST_X, height - (PYRAMID.getLastY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            connected = !PYRAMID.hasGap(LEVEL, i);
+        }
+        rasterizer.endPolyline();
+    }
+
+    private void drawBackground() {
+        ctx.clearRect(0, 0, width, height);
+        ctx.setFill(getChartBackground());
+        ctx.fillRect(0, 0, width, height);
+        if (isThresholdYVisible()) {
+            final double Y = height - (getThresholdY() - getLowerBoundY()) * scaleY;
+            ctx.setStroke(getThresholdYColor());
+            ctx.setLineWidth(1);
+            ctx.strokeLine(0, Y, width, Y);
+        }
+    }
+
+    private void drawSeries(final XYConfidenceSeries<T> SERIES) {
+        if (ChartType.CONFIDENCE_DENSITY == SERIES.getChartType()) {
+            if (updateDensityMap(SERIES, 1)) { ctx.drawImage(densityMap.getImage(), 0, 0); }
+            return;
+        }
+        if (SERIES.getNoOfItems() == 0) { return; }
+        final ChartType TYPE        = SERIES.getChartType();
+        final boolean   SHOW_POINTS = SERIES.getSymbolsVisible();
+        if (SERIES.isPyramidEnabled() && SERIES.isSortedByX()) {
+            final XYConfidencePyramid PYRAMID = SERIES.getPyramid();
+            final int[]               RANGE   = getVisibleRange(SERIES, 1);
+            final int                 LEVEL   = getPyramidLevel(PYRAMID, RANGE[1] - RANGE[0]);
+            if (LEVEL > -1) {
+                drawPyramidLine(SERIES, PYRAMID, LEVEL, RANGE[0], RANGE[1]);
+                return;
+            }
+        }
+        if (Decimation.NONE != getDecimation() && SERIES.isSortedByX()) {
+            final int[] RANGE = getVisibleRange(SERIES, 1);
+            if (RANGE[1] - RANGE[0] > 2 * width) {
+                drawDecimatedLine(SERIES, RANGE[0], RANGE[1], SHOW_POINTS);
+                return;
+            }
+        }
+        if (isAsyncGeometry()) {
+            drawScreenGeometry(SERIES, SHOW_POINTS);
+            return;
+        }
+        switch (TYPE) {
+            case CONFIDENCE_LINE -> drawConfidenceLine(SERIES, SHOW_POINTS);
+            case CONFIDENCE_SMOOTH_LINE -> drawConfidenceSmoothLine(SERIES, SHOW_POINTS);
+        }
+    }
+
+    /**
+     * All density series are accumulated into one map that is drawn in place
+     * of the first of them. Returns true if the map was updated because the
+     * given series is that first density series. The map covers the chart
+     * in pixels of the given scale.
+     */
+    private boolean updateDensityMap(final XYConfidenceSeries<T> SERIES, final double SCALE) {
+        densitySeries.clear();
+        for (XYConfidenceSeries<T> series : listOfSeries) {
+            if (ChartType.CONFIDENCE_DENSITY == series.getChartType()) { densitySeries.add(series); }
+        }
+        final int PIXEL_WIDTH  = (int) Math.ceil(width * SCALE);
+        final int PIXEL_HEIGHT = (int) Math.ceil(height * SCALE);
+        if (densitySeries.isEmpty() || densitySeries.get(0) != SERIES || PIXEL_WIDTH <= 0 || PIXEL_HEIGHT <= 0) { return false; }
+
+        final int NO_OF_SERIES = densitySeries.size();
+        if (densityFrom.length < NO_OF_SERIES) {
+            densityFrom = new int[NO_OF_SERIES];
+            densityTo   = new int[NO_OF_SERIES];
+        }
+        for (int i = 0 ; i < NO_OF_SERIES ; i++) {
+            final int[] RANGE = getVisibleRange(densitySeries.get(i), 1);
+            densityFrom[i] = RANGE[0];
+            densityTo[i]   = RANGE[1];
+        }
+        if (null == densityMap) { densityMap = new DensityMap(); }
+        densityMap.setColors(densityLowColor, densityHighColor);
+        densityMap.accumulate(densitySeries, densityFrom, densityTo, PIXEL_WIDTH, PIXEL_HEIGHT, getLowerBoundX(), getLowerBoundY(), scaleX * SCALE, scaleY * SCALE);
+        return true;
+    }
+
+    // Replays the latest geometry of the series and requests a new one if data or bounds changed
+    private void drawScreenGeometry(final XYConfidenceSeries<T> SERIES, final boolean SHOW_POINTS) {
+        final boolean            SMOOTH = ChartType.CONFIDENCE_SMOOTH_LINE == SERIES.getChartType();
+        final int[]              RANGE  = getVisibleRange(SERIES, SMOOTH ? 2 : 1);
+        final ScreenGeometry.Key KEY    = new ScreenGeometry.Key(SERIES.getModificationCount(), RANGE[0], RANGE[1], SMOOTH,
+                                                                 getLowerBoundX(), getLowerBoundY(), scaleX, scaleY, height);
+        final ScreenGeometry GEOMETRY = screenGeometries.get(SERIES);
+        if (null == GEOMETRY || !KEY.equals(GEOMETRY.getKey())) { requestGeometry(SERIES, KEY); }
+        if (null == GEOMETRY) { return; }
+
+        // draw confidence interval
+        if (SERIES.getConfidenceIntervalVisible() && GEOMETRY.getNoOfBandPoints() > 0) {
+            ctx.setFill(SERIES.getConfidenceIntervalFill());
+            ctx.setStroke(SERIES.getConfidenceIntervalStroke());
+            ctx.setLineWidth(0.5);
+            ctx.beginPath();
+            ctx.moveTo(GEOMETRY.getBandX(0), GEOMETRY.getBandY(0));
+            for (int i = 1 ; i < GEOMETRY.getNoOfBandPoints() ; i++) { ctx.lineTo(GEOMETRY.getBandX(i), GEOMETRY.getBandY(i)); }
+            ctx.closePath();
+            ctx.fill();
+            ctx.stroke();
+        }
+
+        // Draw x/y line
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+        ctx.beginPath();
+        for (int i = 0 ; i < GEOMETRY.getNoOfLinePoints() ; i++) {
+            if (GEOMETRY.isMoveTo(i)) {
+                ctx.moveTo(GEOMETRY.getLineX(i), GEOMETRY.getLineY(i));
+            } else {
+                ctx.lineTo(GEOMETRY.getLineX(i), GEOMETRY.getLineY(i));
+            }
+        }
+        ctx.stroke();
+
+        if (SHOW_POINTS) { drawSymbols(SERIES, RANGE[0], RANGE[1]); }
+    }
+
+    /**
+     * Copies the visible items on the FX thread and computes their geometry
+     * on the background executor. Results that do not match the latest
+     * request for the series by the time they arrive are discarded.
+     */
+    private void requestGeometry(final XYConfidenceSeries<T> SERIES, final ScreenGeometry.Key KEY) {
+        if (KEY.equals(requestedGeometries.get(SERIES))) { return; }
+        requestedGeometries.put(SERIES, KEY);
+
+        final int       NO_OF_ITEMS = KEY.getTo() - KEY.getFrom();
+        final double[]  X           = new double[NO_OF_ITEMS];
+        final double[]  Y           = new double[NO_OF_ITEMS];
+        final double[]  Y_MIN       = new double[NO_OF_ITEMS];
+        final double[]  Y_MAX       = new double[NO_OF_ITEMS];
+        final boolean[] EMPTY       = new boolean[NO_OF_ITEMS];
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) {
+            final int INDEX = KEY.getFrom() + i;
+            X[i]     = SERIES.getX(INDEX);
+            Y[i]     = SERIES.getY(INDEX);
+            Y_MIN[i] = SERIES.getYMin(INDEX);
+            Y_MAX[i] = SERIES.getYMax(INDEX);
+            EMPTY[i] = SERIES.isEmptyItem(INDEX);
+        }
+
+        if (null == geometryExecutor) {
+            geometryExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "XYConfidencePane-geometry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        geometryExecutor.execute(() -> {
+            // A newer request was made while this one was queued
+            if (!KEY.equals(requestedGeometries.get(SERIES))) { return; }
+            final ScreenGeometry GEOMETRY = ScreenGeometry.compute(KEY, X, Y, Y_MIN, Y_MAX, EMPTY, NO_OF_ITEMS, SUB_DIVISIONS);
+            Platform.runLater(() -> {
+                if (!KEY.equals(requestedGeometries.get(SERIES))) { return; }
+                screenGeometries.put(SERIES, GEOMETRY);
+                redrawSeries(SERIES);
+            });
+        });
+    }
+
+    // The index uses the same coordinates as the canvas the mouse events come from
+    private void updateTooltip() {
+        if (!hitTestIndex.isValid()) { buildHitTestIndex(); }
+        final int HIT = hitTestIndex.findNearest(cursorX, cursorY);
+        if (HIT < 0) { return; }
+        final T ITEM = listOfSeries.get(hitTestIndex.getSeriesIndex(HIT)).getItem(hitTestIndex.getItemIndex(HIT));
+        if (!popup.getText().equals(ITEM.getTooltipText())) {
+            popup.setX(cursorScreenX);
+            popup.setY(cursorScreenY - popup.getHeight());
+            popup.setText(ITEM.getTooltipText());
+            popup.animatedShow(getScene().getWindow());
+        }
+    }
+
+    // Adds the visible items with a tooltip of all item backed series, symbols are hit within their drawn size
+    private void buildHitTestIndex() {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        hitTestIndex.clear();
+        for (int s = 0 ; s < listOfSeries.size() ; s++) {
+            final XYConfidenceSeries<T> SERIES = listOfSeries.get(s);
+            if (!SERIES.isItemBacked() || SERIES.getNoOfItems() == 0) { continue; }
+            final double RADIUS = (SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize) * 0.5;
+            final int[]  RANGE  = getVisibleRange(SERIES, 1);
+            for (int i = RANGE[0] ; i < RANGE[1] ; i++) {
+                if (SERIES.getItem(i).getTooltipText().isEmpty()) { continue; }
+                hitTestIndex.add((SERIES.getX(i) - LOWER_BOUND_X) * scaleX, height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY, RADIUS, s, i);
+            }
+        }
+        hitTestIndex.build(width, height);
+    }
+
+    // Creates and removes the series layers so they match the list of series
+    private void updateLayers() {
+        if (RenderBackend.PIXEL_BUFFER == getRenderBackend()) {
+            seriesLayers.clear();
+            layerChartTypes.clear();
+            getChildren().setAll(rasterView, cursorCanvas);
+        } else if (isLayered()) {
+            seriesLayers.keySet().retainAll(listOfSeries);
+            layerChartTypes.keySet().retainAll(listOfSeries);
+            List<Node> children = new ArrayList<>(listOfSeries.size() + 2);
+            children.add(canvas);
+            for (XYConfidenceSeries<T> series : listOfSeries) {
+                Canvas layer = seriesLayers.computeIfAbsent(series, s -> {
+                    Canvas seriesCanvas = new Canvas(canvas.getWidth(), canvas.getHeight());
+                    seriesCanvas.setMouseTransparent(true);
+                    return seriesCanvas;
+                });
+                layer.relocate(canvas.getLayoutX(), canvas.getLayoutY());
+                children.add(layer);
+            }
+            children.add(cursorCanvas);
+            getChildren().setAll(children);
+        } else {
+            seriesLayers.clear();
+            layerChartTypes.clear();
+            getChildren().setAll(canvas, cursorCanvas);
+        }
+        redraw();
     }
 
     private void drawCursor() {
         cursorCtx.clearRect(0, 0, width, height);
         if (isCrossHairVisible()) {
+            double          x         = cursorX / scaleX + getLowerBoundX();
+            double          y         = ((cursorY - height) / scaleY - getLowerBoundY()) * -1;
+            double          lineX     = cursorX;
+            double          lineY     = cursorY;
+            final double    SNAPPED_X = isCrossHairSnapping() ? findSnappedX(x) : Double.NaN;
+            List<CursorHit> hits      = Double.isNaN(SNAPPED_X) ? List.of() : findCursorHits(SNAPPED_X);
+            if (!hits.isEmpty()) {
+                // Vertical line on the snapped x, horizontal line on the sample closest to the pointer
+                CursorHit nearest = hits.get(0);
+                for (CursorHit hit : hits) {
+                    if (Math.abs(hit.getY() - y) < Math.abs(nearest.getY() - y)) { nearest = hit; }
+                }
+                x     = SNAPPED_X;
+                y     = nearest.getY();
+                lineX = (x - getLowerBoundX()) * scaleX;
+                lineY = height - (y - getLowerBoundY()) * scaleY;
+            }
             cursorCtx.setStroke(getCrossHairColor());
-            cursorCtx.strokeLine(0, cursorY, width, cursorY);
-            cursorCtx.strokeLine(cursorX, 0, cursorX, height);
+            cursorCtx.strokeLine(0, lineY, width, lineY);
+            cursorCtx.strokeLine(lineX, 0, lineX, height);
+
+            fireCursorEvent(new CursorEvent(x, y, hits));
+        }
+    }
 
-            double x = cursorX / scaleX + getLowerBoundX();
-            double y = ((cursorY - height) / scaleY - getLowerBoundY()) * -1;
-            fireCursorEvent(new CursorEvent(x, y));
+    // The x of the non-empty sample closest to X over all series, NaN if there is none
+    private double findSnappedX(final double X) {
+        double snappedX        = Double.NaN;
+        double nearestDistance = Double.MAX_VALUE;
+        for (XYConfidenceSeries<T> series : listOfSeries) {
+            final int INDEX = nearestSampleIndex(series, X);
+            if (INDEX < 0) { continue; }
+            final double DISTANCE = Math.abs(series.getX(INDEX) - X);
+            if (DISTANCE < nearestDistance) {
+                snappedX        = series.getX(INDEX);
+                nearestDistance = DISTANCE;
+            }
         }
+        return snappedX;
+    }
+
+    // Collects the sample of each series at SNAPPED_X, series without a sample within half of their sample spacing are left out
+    private List<CursorHit> findCursorHits(final double SNAPPED_X) {
+        List<CursorHit> hits = new ArrayList<>(listOfSeries.size());
+        for (XYConfidenceSeries<T> series : listOfSeries) {
+            final int INDEX = nearestSampleIndex(series, SNAPPED_X);
+            if (INDEX < 0) { continue; }
+            final double DISTANCE = Math.abs(series.getX(INDEX) - SNAPPED_X);
+            if (DISTANCE == 0 || DISTANCE <= getSampleSpacing(series, INDEX) * 0.5) { hits.add(new CursorHit(series, INDEX)); }
+        }
+        return hits;
+    }
+
+    // Index of the non-empty item closest to X, -1 if there is none
+    private int nearestSampleIndex(final XYConfidenceSeries<T> SERIES, final double X) {
+        final int INDEX = SERIES.nearestIndexOfX(X);
+        if (INDEX < 0 || !SERIES.isEmptyItem(INDEX)) { return INDEX; }
+        final int NO_OF_ITEMS = SERIES.getNoOfItems();
+        if (SERIES.isSortedByX()) {
+            int left  = INDEX - 1;
+            int right = INDEX + 1;
+            while (left >= 0 && SERIES.isEmptyItem(left)) { left--; }
+            while (right < NO_OF_ITEMS && SERIES.isEmptyItem(right)) { right++; }
+            if (left < 0) { return right < NO_OF_ITEMS ? right : -1; }
+            if (right >= NO_OF_ITEMS) { return left; }
+            return X - SERIES.getX(left) <= SERIES.getX(right) - X ? left : right;
+        }
+        int    nearest         = -1;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) {
+            if (SERIES.isEmptyItem(i)) { continue; }
+            final double DISTANCE = Math.abs(SERIES.getX(i) - X);
+            if (DISTANCE < nearestDistance) {
+                nearest         = i;
+                nearestDistance = DISTANCE;
+            }
+        }
+        return nearest;
+    }
+
+    // Distance to the closer x neighbour of the item, 0 if the series is not sorted by x or has only one item
+    private double getSampleSpacing(final XYConfidenceSeries<T> SERIES, final int INDEX) {
+        if (!SERIES.isSortedByX()) { return 0; }
+        double spacing = Double.MAX_VALUE;
+        if (INDEX > 0) { spacing = SERIES.getX(INDEX) - SERIES.getX(INDEX - 1); }
+        if (INDEX < SERIES.getNoOfItems() - 1) { spacing = Math.min(spacing, SERIES.getX(INDEX + 1) - SERIES.getX(INDEX)); }
+        return Double.MAX_VALUE == spacing ? 0 : spacing;
     }
 
     private void drawConfidenceLine(final XYConfidenceSeries<T> SERIES, final boolean SHOW_POINTS) {
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
-        List<T> items    = SERIES.getItems();
-        double  oldX     = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
-        double  oldY     = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
-        boolean wasEmpty = items.get(0).isEmptyItem();
+        final int[]  RANGE         = getVisibleRange(SERIES, 1);
+        final int    FROM          = RANGE[0];
+        final int    TO            = RANGE[1];
 
         // draw confidence interval
         if (SERIES.getConfidenceIntervalVisible()) {
@@ -523,17 +1372,17 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
             ctx.setStroke(SERIES.getConfidenceIntervalStroke());
             ctx.setLineWidth(0.5);
             ctx.beginPath();
-            final double startX = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
-            final double startY = height - (items.get(0).getYMax() - LOWER_BOUND_Y) * scaleY;
+            final double startX = (SERIES.getX(FROM) - LOWER_BOUND_X) * scaleX;
+            final double startY = height - (SERIES.getYMax(FROM) - LOWER_BOUND_Y) * scaleY;
             ctx.moveTo(startX, startY);
-            for (T t : items) {
-                double x = (t.getX() - LOWER_BOUND_X) * scaleX;
-                double y = height - (t.getYMax() - LOWER_BOUND_Y) * scaleY;
+            for (int i = FROM ; i < TO ; i++) {
+                double x = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y = height - (SERIES.getYMax(i) - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
-            for (int i = items.size() - 1; i >= 0; i--) {
-                double x       = (items.get(i).getX() - LOWER_BOUND_X) * scaleX;
-                double y       = height - (items.get(i).getYMin() - LOWER_BOUND_Y) * scaleY;
+            for (int i = TO - 1; i >= FROM; i--) {
+                double x       = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y       = height - (SERIES.getYMin(i) - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
             ctx.lineTo(startX, startY);
@@ -541,21 +1390,26 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
             ctx.stroke();
         }
 
-        // Draw x/y line.
+        // Draw x/y line as one path, empty items start a new sub path
         ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(Color.TRANSPARENT);
-        for (T item : SERIES.getItems()) {
-            double x        = (item.getX() - LOWER_BOUND_X) * scaleX;
-            double y        = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
-            boolean isEmpty = item.isEmptyItem();
-            if (!isEmpty && !wasEmpty) { ctx.strokeLine(oldX, oldY, x, y); }
-            oldX     = x;
-            oldY     = y;
+        ctx.beginPath();
+        boolean wasEmpty = true;
+        for (int i = FROM ; i < TO ; i++) {
+            double x        = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+            double y        = height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY;
+            boolean isEmpty = SERIES.isEmptyItem(i);
+            if (isEmpty || wasEmpty) {
+                ctx.moveTo(x, y);
+            } else {
+                ctx.lineTo(x, y);
+            }
             wasEmpty = isEmpty;
         }
+        ctx.stroke();
 
-        if (SHOW_POINTS) { drawSymbols(SERIES); }
+        if (SHOW_POINTS) { drawSymbols(SERIES, FROM, TO); }
     }
 
     private void drawConfidenceSmoothLine(final XYConfidenceSeries<T> SERIES, final boolean SHOW_POINTS) {
@@ -566,17 +1420,16 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(Color.TRANSPARENT);
 
-        List<Point> points = new ArrayList<>(SERIES.getItems().size());
-        SERIES.getItems().forEach(item -> points.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-        List<Point> yMinPoints = SERIES.getItems().stream()
-           .map(item -> new Point(item.getX(), item.getYMin()))
-           .toList();
-        List<Point> yMaxPoints = SERIES.getItems().stream()
-           .map(item -> new Point(item.getX(), item.getYMax())).toList();
+        // Two neighbours on each side keep the spline tangents at the edges unchanged
+        final int[] RANGE       = getVisibleRange(SERIES, 2);
+        final int   FROM        = RANGE[0];
+        final int   TO          = RANGE[1];
+        final int   NO_OF_ITEMS = TO - FROM;
 
-        Point[] interpolatedPoints = Helper.subdividePoints(points.toArray(new Point[0]), SUB_DIVISIONS);
-        Point[] interpolatedMinPoints = Helper.subdividePoints(yMinPoints.toArray(new Point[0]), SUB_DIVISIONS);
-        Point[] interpolatedMaxPoints = Helper.subdividePoints(yMaxPoints.toArray(new Point[0]), SUB_DIVISIONS);
+        // Only interpolate again if the data or the visible slice changed
+        final SplineGeometry GEOMETRY = splineGeometries.computeIfAbsent(SERIES, series -> new SplineGeometry());
+        if (!GEOMETRY.isValid(SERIES.getModificationCount(), FROM, TO)) { GEOMETRY.update(SERIES, FROM, TO, SUB_DIVISIONS); }
+        final int NO_OF_POINTS = GEOMETRY.getNoOfPoints();
 
         // Draw confidence interval
         if (SERIES.getConfidenceIntervalVisible()) {
@@ -584,17 +1437,17 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
             ctx.setStroke(SERIES.getConfidenceIntervalStroke());
             ctx.setLineWidth(0.5);
             ctx.beginPath();
-            final double startX = (interpolatedMaxPoints[0].getX() - LOWER_BOUND_X) * scaleX;
-            final double startY = height - (interpolatedMaxPoints[0].getY() - LOWER_BOUND_Y) * scaleY;
+            final double startX = (GEOMETRY.getX(0) - LOWER_BOUND_X) * scaleX;
+            final double startY = height - (GEOMETRY.getYMax(0) - LOWER_BOUND_Y) * scaleY;
             ctx.moveTo(startX, startY);
-            for (int i = 0; i < interpolatedMaxPoints.length; i++) {
-                double x = (interpolatedMaxPoints[i].getX() - LOWER_BOUND_X) * scaleX;
-                double y = height - (interpolatedMaxPoints[i].getY() - LOWER_BOUND_Y) * scaleY;
+            for (int i = 0; i < NO_OF_POINTS; i++) {
+                double x = (GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y = height - (GEOMETRY.getYMax(i) - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
-            for (int i = interpolatedMinPoints.length - 1; i >= 0; i--) {
-                double x = (interpolatedMinPoints[i].getX() - LOWER_BOUND_X) * scaleX;
-                double y = height - (interpolatedMinPoints[i].getY() - LOWER_BOUND_Y) * scaleY;
+            for (int i = NO_OF_POINTS - 1; i >= 0; i--) {
+                double x = (GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y = height - (GEOMETRY.getYMin(i) - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
             ctx.lineTo(startX, startY);
@@ -602,109 +1455,277 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
             ctx.stroke();
         }
 
-        // Draw x/y line
+        // Draw x/y line, a segment is empty if one of its end points is empty
+        final int LAST_SEGMENT = Math.max(0, NO_OF_ITEMS - 2);
         ctx.beginPath();
-        for(Point p : interpolatedPoints) {
-            if (p.isEmpty()) {
-                ctx.moveTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
+        for (int i = 0 ; i < NO_OF_POINTS ; i++) {
+            final int     SEGMENT  = FROM + Math.min(i / SUB_DIVISIONS, LAST_SEGMENT);
+            final boolean IS_EMPTY = SERIES.isEmptyItem(SEGMENT) || (NO_OF_ITEMS > 1 && SERIES.isEmptyItem(SEGMENT + 1));
+            if (IS_EMPTY) {
+                ctx.moveTo((GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getY(i) - LOWER_BOUND_Y) * scaleY);
             } else {
-                ctx.lineTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
+                ctx.lineTo((GEOMETRY.getX(i) - LOWER_BOUND_X) * scaleX, height - (GEOMETRY.getY(i) - LOWER_BOUND_Y) * scaleY);
             }
         }
         ctx.stroke();
 
-        if (SHOW_POINTS) { drawSymbols(SERIES); }
+        if (SHOW_POINTS) { drawSymbols(SERIES, FROM, TO); }
     }
 
-    private void drawSymbols(final XYConfidenceSeries<T> SERIES) {
+    // More than two items per pixel column, a spline would look the same as straight segments
+    private void drawDecimatedLine(final XYConfidenceSeries<T> SERIES, final int FROM, final int TO, final boolean SHOW_POINTS) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final int    PIXEL_WIDTH   = (int) Math.ceil(width);
+
+        // draw confidence interval as min/max envelope per pixel column, there are no columns if all items are empty
+        final int NO_OF_COLUMNS = SERIES.getConfidenceIntervalVisible() ? computeColumns(SERIES, FROM, TO, PIXEL_WIDTH) : 0;
+        if (NO_OF_COLUMNS > 0) {
+            ctx.setFill(SERIES.getConfidenceIntervalFill());
+            ctx.setStroke(SERIES.getConfidenceIntervalStroke());
+            ctx.setLineWidth(0.5);
+            ctx.beginPath();
+            final double startX = (columnX[0] - LOWER_BOUND_X) * scaleX;
+            final double startY = height - (columnYMax[0] - LOWER_BOUND_Y) * scaleY;
+            ctx.moveTo(startX, startY);
+            for (int i = 0 ; i < NO_OF_COLUMNS ; i++) {
+                ctx.lineTo((columnX[i] - LOWER_BOUND_X) * scaleX, height - (columnYMax[i] - LOWER_BOUND_Y) * scaleY);
+            }
+            for (int i = NO_OF_COLUMNS - 1 ; i >= 0 ; i--) {
+                ctx.lineTo((columnX[i] - LOWER_BOUND_X) * scaleX, height - (columnYMin[i] - LOWER_BOUND_Y) * scaleY);
+            }
+            ctx.lineTo(startX, startY);
+            ctx.fill();
+            ctx.stroke();
+        }
+
+        // Draw x/y line through the largest triangle of each bucket
+        final int NO_OF_INDICES = computeDecimatedIndices(SERIES, FROM, TO, PIXEL_WIDTH);
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+        ctx.beginPath();
+        boolean wasEmpty = true;
+        for (int i = 0 ; i < NO_OF_INDICES ; i++) {
+            final int INDEX   = decimatedIndices[i];
+            double    x       = (SERIES.getX(INDEX) - LOWER_BOUND_X) * scaleX;
+            double    y       = height - (SERIES.getY(INDEX) - LOWER_BOUND_Y) * scaleY;
+            boolean   isEmpty = SERIES.isEmptyItem(INDEX);
+            if (isEmpty || wasEmpty) {
+                ctx.moveTo(x, y);
+            } else {
+                ctx.lineTo(x, y);
+            }
+            wasEmpty = isEmpty;
+        }
+        ctx.stroke();
+
+        if (SHOW_POINTS) {
+            drawSymbols(SERIES, decimatedIndices, 0, NO_OF_INDICES);
+        }
+    }
+
+    // Min/max envelope of the confidence interval per pixel column into columnX, columnYMin and columnYMax
+    private int computeColumns(final XYConfidenceSeries<T> SERIES, final int FROM, final int TO, final int PIXEL_WIDTH) {
+        if (columnX.length < PIXEL_WIDTH + 3) {
+            columnX    = new double[PIXEL_WIDTH + 3];
+            columnYMin = new double[PIXEL_WIDTH + 3];
+            columnYMax = new double[PIXEL_WIDTH + 3];
+        }
+        return Decimator.minMaxColumns(SERIES, FROM, TO, getLowerBoundX(), scaleX, PIXEL_WIDTH, columnX, columnYMin, columnYMax);
+    }
+
+    // Indices of the largest triangle of each bucket into decimatedIndices, two buckets per pixel column
+    private int computeDecimatedIndices(final XYConfidenceSeries<T> SERIES, final int FROM, final int TO, final int PIXEL_WIDTH) {
+        final int THRESHOLD = 2 * PIXEL_WIDTH;
+        if (decimatedIndices.length < THRESHOLD) { decimatedIndices = new int[THRESHOLD]; }
+        return Decimator.largestTriangleThreeBuckets(SERIES, FROM, TO, THRESHOLD, decimatedIndices);
+    }
+
+    // Coarsest level that still has at least one bucket per pixel column, -1 if the items should be drawn directly
+    private int getPyramidLevel(final XYConfidencePyramid PYRAMID, final int NO_OF_VISIBLE_ITEMS) {
+        for (int level = PYRAMID.getNoOfLevels() - 1 ; level >= 0 ; level--) {
+            if (NO_OF_VISIBLE_ITEMS / PYRAMID.getFactor(level) >= width) { return level; }
+        }
+        return -1;
+    }
+
+    // Symbols are skipped, there are at least four items per pixel column at this point
+    private void drawPyramidLine(final XYConfidenceSeries<T> SERIES, final XYConfidencePyramid PYRAMID, final int LEVEL, final int FROM, final int TO) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final int    FIRST_BUCKET  = PYRAMID.getBucketIndex(LEVEL, FROM);
+        final int    LAST_BUCKET   = PYRAMID.getBucketIndex(LEVEL, TO - 1);
+
+        // draw confidence interval
+        if (SERIES.getConfidenceIntervalVisible()) {
+            ctx.setFill(SERIES.getConfidenceIntervalFill());
+            ctx.setStroke(SERIES.getConfidenceIntervalStroke());
+            ctx.setLineWidth(0.5);
+            ctx.beginPath();
+            for (int i = FIRST_BUCKET ; i <= LAST_BUCKET ; i++) {
+                double x = ((PYRAMID.getFirstX(LEVEL, i) + PYRAMID.getLastX(LEVEL, i)) * 0.5 - LOWER_BOUND_X) * scaleX;
+                double y = height - (PYRAMID.getMaxYMax(LEVEL, i) - LOWER_BOUND_Y) * scaleY;
+                if (i == FIRST_BUCKET) { ctx.moveTo(x, y); } else { ctx.lineTo(x, y); }
+            }
+            for (int i = LAST_BUCKET ; i >= FIRST_BUCKET ; i--) {
+                double x = ((PYRAMID.getFirstX(LEVEL, i) + PYRAMID.getLastX(LEVEL, i)) * 0.5 - LOWER_BOUND_X) * scaleX;
+                double y = height - (PYRAMID.getMinYMin(LEVEL, i) - LOWER_BOUND_Y) * scaleY;
+                ctx.lineTo(x, y);
+            }
+            ctx.closePath();
+            ctx.fill();
+            ctx.stroke();
+        }
+
+        // Draw x/y line as first, min, max and last value of each bucket
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+        ctx.beginPath();
+        boolean connected = false;
+        for (int i = FIRST_BUCKET ; i <= LAST_BUCKET ; i++) {
+            final double FIRST_Y = PYRAMID.getFirstY(LEVEL, i);
+            if (Double.isNaN(FIRST_Y)) {
+                connected = false;
+                continue;
+            }
+            double firstX  = (PYRAMID.getFirstX(LEVEL, i) - LOWER_BOUND_X) * scaleX;
+            double lastX   = (PYRAMID.getLastX(LEVEL, i) - LOWER_BOUND_X) * scaleX;
+            double centerX = (firstX + lastX) * 0.5;
+            if (connected) {
+                ctx.lineTo(firstX, height - (FIRST_Y - LOWER_BOUND_Y) * scaleY);
+            } else {
+                ctx.moveTo(firstX, height - (FIRST_Y - LOWER_BOUND_Y) * scaleY);
+            }
+            ctx.lineTo(centerX, height - (PYRAMID.getMinY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            ctx.lineTo(centerX, height - (PYRAMID.getMaxY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            ctx.lineTo(lastX, height - (PYRAMID.getLastY(LEVEL, i) - LOWER_BOUND_Y) * scaleY);
+            connected = !PYRAMID.hasGap(LEVEL, i);
+        }
+        ctx.stroke();
+    }
+
+    private void drawSymbols(final XYConfidenceSeries<T> SERIES, final int FROM, final int TO) { drawSymbols(SERIES, null, FROM, TO); }
+    // Draws the items at INDICES[FROM..TO), or the items FROM..TO if INDICES is null
+    private void drawSymbols(final XYConfidenceSeries<T> SERIES, final int[] INDICES, final int FROM, final int TO) {
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
-        Symbol       seriesSymbol  = SERIES.getSymbol();
-        Color        symbolFill    = SERIES.getSymbolFill();
-        Color        symbolStroke  = SERIES.getSymbolStroke();
         double       size          = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
-        for (T item : SERIES.getItems()) {
-            double x          = (item.getX() - LOWER_BOUND_X) * scaleX;
-            double y          = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
-            Symbol itemSymbol = item.getSymbol();
-            if (item.isEmptyItem()) { continue; }
+        final boolean ITEM_BACKED  = SERIES.isItemBacked();
+        final double RENDER_SCALE  = getRenderScale();
+        final double LINE_WIDTH    = SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : this.size * 0.0025;
+        if (null == symbolAtlas) { symbolAtlas = new SymbolAtlas(); }
+        // Resolved once, only items with their own symbol need a lookup
+        final SymbolAtlas.Sprite SERIES_SPRITE = symbolAtlas.getSprite(SERIES.getSymbolFill(), SERIES.getSymbolStroke(), SERIES.getSymbol(), size, LINE_WIDTH, RENDER_SCALE);
+        for (int n = FROM ; n < TO ; n++) {
+            final int i = null == INDICES ? n : INDICES[n];
+            if (SERIES.isEmptyItem(i)) { continue; }
+            double x          = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+            double y          = height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY;
+            T      item       = ITEM_BACKED ? SERIES.getItem(i) : null;
+            Symbol itemSymbol = ITEM_BACKED ? item.getSymbol() : Symbol.NONE;
             if (Symbol.NONE == itemSymbol) {
-                drawSymbol(x, y, symbolFill, symbolStroke, seriesSymbol, size);
+                symbolAtlas.drawSprite(ctx, SERIES_SPRITE, x, y);
             } else {
-                drawSymbol(x, y, item.getFill(), item.getStroke(), itemSymbol, size);
-            }
-        }
-    }
-
-    private void drawSymbol(final double X, final double Y, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final double SYMBOL_SIZE) {
-        double halfSymbolSize = SYMBOL_SIZE * 0.5;
-        ctx.save();
-        switch(SYMBOL) {
-            case NONE:
-                break;
-            case SQUARE:
-                ctx.setStroke(STROKE);
-                ctx.setFill(FILL);
-                ctx.fillRect(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
-                ctx.strokeRect(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
-                break;
-            case TRIANGLE:
-                ctx.setStroke(STROKE);
-                ctx.setFill(FILL);
-                ctx.beginPath();
-                ctx.moveTo(X, Y - halfSymbolSize);
-                ctx.lineTo(X + halfSymbolSize, Y + halfSymbolSize);
-                ctx.lineTo(X - halfSymbolSize, Y + halfSymbolSize);
-                ctx.lineTo(X, Y - halfSymbolSize);
-                ctx.closePath();
-                ctx.fill();
-                ctx.stroke();
-                break;
-            case STAR:
-                ctx.setStroke(STROKE);
-                ctx.setFill(null);
-                ctx.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
-                ctx.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
-                ctx.strokeLine(X - halfSymbolSize, Y - halfSymbolSize, X + halfSymbolSize, Y + halfSymbolSize);
-                ctx.strokeLine(X + halfSymbolSize, Y - halfSymbolSize, X - halfSymbolSize, Y + halfSymbolSize);
-                break;
-            case CROSS:
-                ctx.setStroke(STROKE);
-                ctx.setFill(null);
-                ctx.strokeLine(X - halfSymbolSize, Y, X + halfSymbolSize, Y);
-                ctx.strokeLine(X, Y - halfSymbolSize, X, Y + halfSymbolSize);
-                break;
-            case CIRCLE:
-            default    :
-                ctx.setStroke(STROKE);
-                ctx.setFill(FILL);
-                ctx.fillOval(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
-                ctx.strokeOval(X - halfSymbolSize, Y - halfSymbolSize, SYMBOL_SIZE, SYMBOL_SIZE);
-                break;
-        }
-        ctx.restore();
+                symbolAtlas.drawSymbol(ctx, x, y, item.getFill(), item.getStroke(), itemSymbol, size, LINE_WIDTH, RENDER_SCALE);
+            }
+        }
+    }
+
+    // Output scale of the window (e.g. 2 on HiDPI screens) so sprites are rasterized at device resolution
+    private double getRenderScale() {
+        if (null == getScene() || null == getScene().getWindow()) { return 1; }
+        return Math.max(1, getScene().getWindow().getOutputScaleX());
+    }
+
+    /**
+     * Returns the index range [from, to) of the items within the visible x
+     * range plus the given number of neighbours on each side. Series that are
+     * not sorted by x are drawn completely.
+     */
+    private int[] getVisibleRange(final XYConfidenceSeries<T> SERIES, final int NEIGHBOURS) {
+        final int NO_OF_ITEMS = SERIES.getNoOfItems();
+        if (!SERIES.isSortedByX()) { return new int[] { 0, NO_OF_ITEMS }; }
+        final int FROM = Math.max(0, SERIES.lowerBoundIndexOfX(getLowerBoundX()) - NEIGHBOURS);
+        final int TO   = Math.min(NO_OF_ITEMS, SERIES.upperBoundIndexOfX(getUpperBoundX()) + NEIGHBOURS);
+        return new int[] { FROM, TO };
+    }
+
+    /**
+     * Shows the last drawn chart for the given bounds by scaling and
+     * translating it, nothing is drawn until the bounds are set and
+     * endPreview() is called.
+     */
+    void previewBounds(final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double LOWER_BOUND_Y, final double UPPER_BOUND_Y) {
+        projection.setRangeX(width, getLowerBoundX(), getUpperBoundX(), LOWER_BOUND_X, UPPER_BOUND_X);
+        projection.setRangeY(height, getLowerBoundY(), getUpperBoundY(), LOWER_BOUND_Y, UPPER_BOUND_Y);
+        projection.apply(getContentNodes());
+    }
+    void endPreview() { projection.clear(getContentNodes()); }
+
+    // Everything but the cursor
+    private Node[] getContentNodes() {
+        final List<Node> NODES = new ArrayList<>(seriesLayers.size() + 2);
+        NODES.add(canvas);
+        NODES.add(rasterView);
+        NODES.addAll(seriesLayers.values());
+        return NODES.toArray(new Node[0]);
     }
 
 
     // ******************** Event Handling ************************************
-    public void addCursorEventListener(final CursorEventListener LISTENER) {
-        if (cursorEventListeners.contains(LISTENER)) { return; }
-        cursorEventListeners.add(LISTENER);
+    public void addCursorEventListener(final CursorEventListener LISTENER) { addCursorEventListener(LISTENER, false); }
+    /**
+     * Asynchronous listeners are called on a dedicated thread instead of the
+     * FX application thread. If they fall behind they skip to the latest
+     * event instead of working through every event in between.
+     */
+    public void addCursorEventListener(final CursorEventListener LISTENER, final boolean ASYNC) {
+        if (cursorEventListeners.contains(LISTENER) || asyncCursorEventListeners.contains(LISTENER)) { return; }
+        if (ASYNC) {
+            asyncCursorEventListeners.add(LISTENER);
+        } else {
+            cursorEventListeners.add(LISTENER);
+        }
     }
     public void removeCursorEventListener(final CursorEventListener LISTENER) {
-        if (cursorEventListeners.contains(LISTENER)) {
-            cursorEventListeners.remove(LISTENER);
-        }
+        cursorEventListeners.remove(LISTENER);
+        asyncCursorEventListeners.remove(LISTENER);
+    }
+    public void removeAllCursorEventListeners() {
+        cursorEventListeners.clear();
+        asyncCursorEventListeners.clear();
     }
-    public void removeAllCursorEventListeners() { cursorEventListeners.clear(); }
 
     public void fireCursorEvent(final CursorEvent EVT) {
         cursorEventListeners.forEach(listener -> listener.handleCursorEvent(EVT));
+        if (asyncCursorEventListeners.isEmpty()) { return; }
+        // Only queue a delivery if the previous one already picked up its event
+        if (null != pendingCursorEvent.getAndSet(EVT)) { return; }
+        if (null == cursorEventExecutor) {
+            cursorEventExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "XYConfidencePane-cursor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            cursorEventExecutor.execute(() -> {
+                final CursorEvent LATEST = pendingCursorEvent.getAndSet(null);
+                if (null == LATEST) { return; }
+                asyncCursorEventListeners.forEach(listener -> listener.handleCursorEvent(LATEST));
+            });
+        } catch (RejectedExecutionException e) {
+            // Free the slot, otherwise no later event would be queued again
+            pendingCursorEvent.set(null);
+        }
     }
 
 
     // ******************** Resizing ******************************************
     private void resize() {
+        if (settingBounds) { return; }
         width  = getWidth(); // - getInsets().getLeft() - getInsets().getRight();
         height = getHeight(); // - getInsets().getTop() - getInsets().getBottom();
         size   = width < height ? width : height;
@@ -726,6 +1747,14 @@ public class XYConfidencePane<T extends XYConfidenceItem> extends Region impleme
             cursorCanvas.setHeight(height);
             cursorCanvas.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
 
+            rasterView.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
+
+            seriesLayers.values().forEach(layer -> {
+                layer.setWidth(width);
+                layer.setHeight(height);
+                layer.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
+            });
+
             symbolSize = clamp(MIN_SYMBOL_SIZE, MAX_SYMBOL_SIZE, size * 0.016);
 
             scaleX = width / getRangeX();
@@ -18,6 +18,7 @@ package com.chainstaysoftware.confidenceplot.charts.data;
 
 import com.chainstaysoftware.confidenceplot.charts.Symbol;
 import com.chainstaysoftware.confidenceplot.charts.event.ChartEvt;
+import com.chainstaysoftware.confidenceplot.charts.event.ItemValueEvt;
 import eu.hansolo.toolbox.evt.EvtObserver;
 import eu.hansolo.toolbox.evt.EvtType;
 import javafx.beans.property.BooleanProperty;
@@ -111,8 +112,9 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     @Override public double getX() { return null == x ? _x : x.get(); }
     @Override public void setX(final double X) {
         if (null == x) {
+            final double OLD_X = _x;
             _x = X;
-            fireChartEvt(ITEM_EVENT);
+            fireValueChanged(OLD_X, getY(), getYMin(), getYMax());
         } else {
             x.set(X);
         }
@@ -121,7 +123,10 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
         if (null == x) {
             x = new DoublePropertyBase(_x) {
                 @Override protected void invalidated() {
-                    fireChartEvt(ITEM_EVENT);
+                    // _x keeps the last value to report it as the old one
+                    final double OLD_X = _x;
+                    _x = get();
+                    fireValueChanged(OLD_X, getY(), getYMin(), getYMax());
                 }
                 @Override public Object getBean() { return XYConfidenceChartItem.this; }
                 @Override public String getName() { return "x"; }
@@ -133,8 +138,9 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     @Override public double getY() { return null == y ? _y : y.get(); }
     @Override public void setY(final double Y) {
         if (null == y) {
+            final double OLD_Y = _y;
             _y = Y;
-            fireChartEvt(ITEM_EVENT);
+            fireValueChanged(getX(), OLD_Y, getYMin(), getYMax());
         } else {
             y.set(Y);
         }
@@ -143,7 +149,10 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
         if (null == y) {
             y = new DoublePropertyBase(_y) {
                 @Override protected void invalidated() {
-                    fireChartEvt(ITEM_EVENT);
+                    // _y keeps the last value to report it as the old one
+                    final double OLD_Y = _y;
+                    _y = get();
+                    fireValueChanged(getX(), OLD_Y, getYMin(), getYMax());
                 }
                 @Override public Object getBean() { return XYConfidenceChartItem.this; }
                 @Override public String getName() { return "y"; }
@@ -155,8 +164,9 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     @Override public double getYMin() { return null == yMin ? _yMin : yMin.get(); }
     @Override public void setYMin(final double Y) {
         if (null == yMin) {
+            final double OLD_Y_MIN = _yMin;
             _yMin = Y;
-            fireChartEvt(ITEM_EVENT);
+            fireValueChanged(getX(), getY(), OLD_Y_MIN, getYMax());
         } else {
             yMin.set(Y);
         }
@@ -165,7 +175,10 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
         if (null == yMin) {
             yMin = new DoublePropertyBase(_yMin) {
                 @Override protected void invalidated() {
-                    fireChartEvt(ITEM_EVENT);
+                    // _yMin keeps the last value to report it as the old one
+                    final double OLD_Y_MIN = _yMin;
+                    _yMin = get();
+                    fireValueChanged(getX(), getY(), OLD_Y_MIN, getYMax());
                 }
                 @Override public Object getBean() { return XYConfidenceChartItem.this; }
                 @Override public String getName() { return "yMin"; }
@@ -177,8 +190,9 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     @Override public double getYMax() { return null == yMax ? _yMax : yMax.get(); }
     @Override public void setYMax(final double Y) {
         if (null == yMax) {
+            final double OLD_Y_MAX = _yMax;
             _yMax = Y;
-            fireChartEvt(ITEM_EVENT);
+            fireValueChanged(getX(), getY(), getYMin(), OLD_Y_MAX);
         } else {
             yMax.set(Y);
         }
@@ -187,7 +201,10 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
         if (null == yMax) {
             yMax = new DoublePropertyBase(_yMax) {
                 @Override protected void invalidated() {
-                    fireChartEvt(ITEM_EVENT);
+                    // _yMax keeps the last value to report it as the old one
+                    final double OLD_Y_MAX = _yMax;
+                    _yMax = get();
+                    fireValueChanged(getX(), getY(), getYMin(), OLD_Y_MAX);
                 }
                 @Override public Object getBean() { return XYConfidenceChartItem.this; }
                 @Override public String getName() { return "yMax"; }
@@ -305,7 +322,7 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     public void setIsEmpty(final boolean isEmpty) {
         if (null == this.isEmpty) {
             _isEmpty = isEmpty;
-            fireChartEvt(ITEM_EVENT);
+            fireValueChanged(getX(), getY(), getYMin(), getYMax());
         } else {
             this.isEmpty.set(isEmpty);
         }
@@ -313,7 +330,7 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
     public BooleanProperty isEmptyProperty() {
         if (null == isEmpty) {
             isEmpty = new BooleanPropertyBase(_isEmpty) {
-                @Override protected void invalidated() { fireChartEvt(ITEM_EVENT); }
+                @Override protected void invalidated() { fireValueChanged(getX(), getY(), getYMin(), getYMax()); }
                 @Override public Object getBean() { return XYConfidenceChartItem.this; }
                 @Override public String getName() { return "isEmpty"; }
             };
@@ -345,6 +362,12 @@ public class XYConfidenceChartItem implements XYConfidenceItem, Comparable<XYCon
         }
     }
 
+    // Takes the values before the change, the current ones are read from the item
+    private void fireValueChanged(final double OLD_X, final double OLD_Y, final double OLD_Y_MIN, final double OLD_Y_MAX) {
+        if (observers.isEmpty()) { return; }
+        fireChartEvt(new ItemValueEvt(XYConfidenceChartItem.this, OLD_X, OLD_Y, OLD_Y_MIN, OLD_Y_MAX, getX(), getY(), getYMin(), getYMax()));
+    }
+
     @Override public String toString() {
         return "{\n" +
            "  \"name\":\"" + getName() + "\",\n" +
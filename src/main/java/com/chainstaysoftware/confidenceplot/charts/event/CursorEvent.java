@@ -21,16 +21,23 @@ package com.chainstaysoftware.confidenceplot.charts.event;
 
 import eu.hansolo.toolboxfx.geom.Point;
 
+import java.util.List;
+
 
 public class CursorEvent {
-    private final double x;
-    private final double y;
+    private final double          x;
+    private final double          y;
+    private final List<CursorHit> hits;
 
 
     // ******************** Constructors **************************************
     public CursorEvent(final double X, final double Y) {
-        this.x = X;
-        this.y = Y;
+        this(X, Y, List.of());
+    }
+    public CursorEvent(final double X, final double Y, final List<CursorHit> HITS) {
+        this.x    = X;
+        this.y    = Y;
+        this.hits = List.copyOf(HITS);
     }
 
 
@@ -40,4 +47,9 @@ public class CursorEvent {
     public double getY() { return y; }
 
     public Point getXY() { return new Point(x, y); }
+
+    // One entry per series with data if the cross hair snaps to samples, empty otherwise
+    public List<CursorHit> getHits() { return hits; }
+
+    public boolean isSnapped() { return !hits.isEmpty(); }
 }
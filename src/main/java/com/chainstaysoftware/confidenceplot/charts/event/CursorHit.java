@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.event;
+
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
+
+
+/**
+ * The sample of a series that is closest to the snapped cursor position.
+ */
+public class CursorHit {
+    private final XYConfidenceSeries<?> series;
+    private final int                   index;
+    private final double                x;
+    private final double                y;
+    private final double                yMin;
+    private final double                yMax;
+
+
+    // ******************** Constructors **************************************
+    public CursorHit(final XYConfidenceSeries<?> SERIES, final int INDEX) {
+        this.series = SERIES;
+        this.index  = INDEX;
+        this.x      = SERIES.getX(INDEX);
+        this.y      = SERIES.getY(INDEX);
+        this.yMin   = SERIES.getYMin(INDEX);
+        this.yMax   = SERIES.getYMax(INDEX);
+    }
+
+
+    // ******************** Methods *******************************************
+    public XYConfidenceSeries<?> getSeries() { return series; }
+
+    public int getIndex() { return index; }
+
+    public double getX() { return x; }
+
+    public double getY() { return y; }
+
+    public double getYMin() { return yMin; }
+
+    public double getYMax() { return yMax; }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.event;
+
+
+/**
+ * Fired by an item when x, y, yMin, yMax or the empty flag changed. Carries
+ * the values before and after the change, so a series can update its
+ * aggregates without rescanning its items.
+ */
+public class ItemValueEvt extends ChartEvt {
+    private final double oldX;
+    private final double oldY;
+    private final double oldYMin;
+    private final double oldYMax;
+    private final double x;
+    private final double y;
+    private final double yMin;
+    private final double yMax;
+
+
+    // ******************** Constructors **************************************
+    public ItemValueEvt(final Object SRC, final double OLD_X, final double OLD_Y, final double OLD_Y_MIN, final double OLD_Y_MAX,
+                        final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        super(SRC, ChartEvt.ITEM_UPDATE);
+        this.oldX    = OLD_X;
+        this.oldY    = OLD_Y;
+        this.oldYMin = OLD_Y_MIN;
+        this.oldYMax = OLD_Y_MAX;
+        this.x       = X;
+        this.y       = Y;
+        this.yMin    = Y_MIN;
+        this.yMax    = Y_MAX;
+    }
+
+
+    // ******************** Methods *******************************************
+    public double getOldX() { return oldX; }
+    public double getOldY() { return oldY; }
+    public double getOldYMin() { return oldYMin; }
+    public double getOldYMax() { return oldYMax; }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getYMin() { return yMin; }
+    public double getYMax() { return yMax; }
+}
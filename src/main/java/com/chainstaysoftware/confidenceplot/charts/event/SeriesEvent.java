@@ -17,22 +17,51 @@
 package com.chainstaysoftware.confidenceplot.charts.event;
 
 import com.chainstaysoftware.confidenceplot.charts.series.Series;
-import com.chainstaysoftware.confidenceplot.charts.data.ChartItem;
+import com.chainstaysoftware.confidenceplot.charts.data.Item;
 
 
 /**
  * Created by hansolo on 16.07.17.
  */
-public class SeriesEvent<T extends ChartItem> {
+public class SeriesEvent<T extends Item> {
     private final Series<T> SERIES;
+    private final boolean   BATCH;
+    private final int       NO_OF_ITEMS_ADDED;
+    private final int       NO_OF_ITEMS_REMOVED;
+    private final int       NO_OF_ITEMS_UPDATED;
+    private final boolean   PROPERTIES_CHANGED;
 
 
     // ******************** Constructors **************************************
     public SeriesEvent(final Series<T> SERIES) {
-        this.SERIES = SERIES;
+        this(SERIES, false, 0, 0, 0, false);
+    }
+    public SeriesEvent(final Series<T> SERIES, final int NO_OF_ITEMS_ADDED, final int NO_OF_ITEMS_REMOVED, final int NO_OF_ITEMS_UPDATED, final boolean PROPERTIES_CHANGED) {
+        this(SERIES, true, NO_OF_ITEMS_ADDED, NO_OF_ITEMS_REMOVED, NO_OF_ITEMS_UPDATED, PROPERTIES_CHANGED);
+    }
+    public SeriesEvent(final Series<T> SERIES, final boolean BATCH, final int NO_OF_ITEMS_ADDED, final int NO_OF_ITEMS_REMOVED, final int NO_OF_ITEMS_UPDATED, final boolean PROPERTIES_CHANGED) {
+        this.SERIES              = SERIES;
+        this.BATCH               = BATCH;
+        this.NO_OF_ITEMS_ADDED   = NO_OF_ITEMS_ADDED;
+        this.NO_OF_ITEMS_REMOVED = NO_OF_ITEMS_REMOVED;
+        this.NO_OF_ITEMS_UPDATED = NO_OF_ITEMS_UPDATED;
+        this.PROPERTIES_CHANGED  = PROPERTIES_CHANGED;
     }
 
 
     // ******************** Methods *******************************************
     public Series<T> getSeries() { return SERIES; }
+
+    // True for the event that closes a batch update (see Series.beginUpdate()), the counts below then cover the whole batch
+    public boolean isBatch() { return BATCH; }
+
+    public int getNoOfItemsAdded() { return NO_OF_ITEMS_ADDED; }
+
+    public int getNoOfItemsRemoved() { return NO_OF_ITEMS_REMOVED; }
+
+    public int getNoOfItemsUpdated() { return NO_OF_ITEMS_UPDATED; }
+
+    public boolean isDataChanged() { return NO_OF_ITEMS_ADDED > 0 || NO_OF_ITEMS_REMOVED > 0 || NO_OF_ITEMS_UPDATED > 0; }
+
+    public boolean isPropertiesChanged() { return PROPERTIES_CHANGED; }
 }
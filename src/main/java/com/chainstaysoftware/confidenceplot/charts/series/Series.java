@@ -21,6 +21,7 @@ import com.chainstaysoftware.confidenceplot.charts.Symbol;
 import com.chainstaysoftware.confidenceplot.charts.data.Item;
 import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceChartItem;
 import com.chainstaysoftware.confidenceplot.charts.event.ChartEvt;
+import com.chainstaysoftware.confidenceplot.charts.event.ItemValueEvt;
 import com.chainstaysoftware.confidenceplot.charts.event.SeriesEvent;
 import com.chainstaysoftware.confidenceplot.charts.event.SeriesEventListener;
 import com.chainstaysoftware.confidenceplot.charts.tools.Helper;
@@ -84,6 +85,12 @@ public abstract class Series<T extends Item> {
     private      CopyOnWriteArrayList<SeriesEventListener> listeners;
     private      ListChangeListener<T>                     itemListener;
     private      EvtObserver<ChartEvt>                     itemObserver;
+    private      int                                       updateDepth;
+    private      int                                       pendingItemsAdded;
+    private      int                                       pendingItemsRemoved;
+    private      int                                       pendingItemsUpdated;
+    private      boolean                                   pendingPropertiesChanged;
+    private      long                                      modificationCount;
 
 
     // ******************** Constructors **************************************
@@ -124,9 +131,44 @@ public abstract class Series<T extends Item> {
         _withWrapping      = false;
         chartType          = TYPE;
         items              = FXCollections.observableArrayList();
-        itemListener       = change -> fireSeriesEvent(UPDATE_EVENT);
-        itemObserver       = e -> fireSeriesEvent(UPDATE_EVENT);
+        itemObserver       = e -> {
+            if (e instanceof ItemValueEvt) {
+                onItemValueChanged(e.getSource(), (ItemValueEvt) e);
+                fireItemsUpdated(1);
+            } else {
+                // Name, colors, symbol or tooltip changed, the data stays the same
+                fireSeriesEvent(UPDATE_EVENT);
+            }
+        };
+        itemListener       = change -> {
+            int added   = 0;
+            int removed = 0;
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    removed += change.getRemovedSize();
+                    onItemsRemoved(change.getRemoved());
+                    change.getRemoved().forEach(item -> {
+                        if (item instanceof XYConfidenceChartItem) {
+                            XYConfidenceChartItem xyConfidenceChartItem = (XYConfidenceChartItem) item;
+                            xyConfidenceChartItem.removeChartEvtObserver(ChartEvt.ANY, itemObserver);
+                        }
+                    });
+                }
+                if (change.wasAdded()) {
+                    added += change.getAddedSize();
+                    onItemsAdded(change.getFrom(), change.getAddedSubList());
+                    change.getAddedSubList().forEach(item -> {
+                        if (item instanceof XYConfidenceChartItem) {
+                            XYConfidenceChartItem xyConfidenceChartItem = (XYConfidenceChartItem) item;
+                            xyConfidenceChartItem.addChartEvtObserver(ChartEvt.ANY, itemObserver);
+                        }
+                    });
+                }
+            }
+            fireItemsChanged(added, removed, 0);
+        };
         listeners          = new CopyOnWriteArrayList<>();
+        updateDepth        = 0;
 
         if (null != ITEMS) { items.setAll(ITEMS); }
 
@@ -136,23 +178,10 @@ public abstract class Series<T extends Item> {
 
     // ******************** Initialization ************************************
     private void registerListeners() {
-        items.addListener((ListChangeListener<T>) c -> {
-            while (c.next()) {
-                if (c.wasAdded()) {
-                    c.getAddedSubList().forEach(item -> {
-                        if (item instanceof XYConfidenceChartItem) {
-                            XYConfidenceChartItem xyConfidenceChartItem = (XYConfidenceChartItem) item;
-                            xyConfidenceChartItem.addChartEvtObserver(ChartEvt.ANY, itemObserver);
-                        }
-                    });
-                } else if (c.wasRemoved()) {
-                    c.getRemoved().forEach(item -> {
-                        if (item instanceof XYConfidenceChartItem) {
-                            XYConfidenceChartItem xyConfidenceChartItem = (XYConfidenceChartItem) item;
-                            xyConfidenceChartItem.removeChartEvtObserver(ChartEvt.ANY, itemObserver);
-                        }
-                    });
-                }
+        items.forEach(item -> {
+            if (item instanceof XYConfidenceChartItem) {
+                XYConfidenceChartItem xyConfidenceChartItem = (XYConfidenceChartItem) item;
+                xyConfidenceChartItem.addChartEvtObserver(ChartEvt.ANY, itemObserver);
             }
         });
         items.addListener(itemListener);
@@ -444,10 +473,47 @@ public abstract class Series<T extends Item> {
 
     public int getNoOfItems() { return items.size(); }
 
-    public void dispose() { items.remove(itemListener); }
+    public void dispose() { items.removeListener(itemListener); }
 
     public void refresh() { fireSeriesEvent(UPDATE_EVENT); }
 
+    /**
+     * Starts a batch update. Until the matching commitUpdate() no series
+     * events are fired, the commit fires one event that summarizes all
+     * changes made in between. Batch updates can be nested.
+     */
+    public void beginUpdate() { updateDepth++; }
+
+    public void commitUpdate() {
+        if (updateDepth == 0) { throw new IllegalStateException("commitUpdate() called without beginUpdate()"); }
+        updateDepth--;
+        if (updateDepth > 0) { return; }
+        if (pendingItemsAdded == 0 && pendingItemsRemoved == 0 && pendingItemsUpdated == 0 && !pendingPropertiesChanged) { return; }
+        final SeriesEvent<T> EVENT = new SeriesEvent<>(Series.this, pendingItemsAdded, pendingItemsRemoved, pendingItemsUpdated, pendingPropertiesChanged);
+        pendingItemsAdded        = 0;
+        pendingItemsRemoved      = 0;
+        pendingItemsUpdated      = 0;
+        pendingPropertiesChanged = false;
+        for (SeriesEventListener listener : listeners) { listener.onModelEvent(EVENT); }
+    }
+
+    public boolean isUpdating() { return updateDepth > 0; }
+
+    // Increases with every change of the data, can be used as key for cached geometry
+    public long getModificationCount() { return modificationCount; }
+
+    /**
+     * Runs the given modifications as one batch update.
+     */
+    public void update(final Runnable UPDATE) {
+        beginUpdate();
+        try {
+            UPDATE.run();
+        } finally {
+            commitUpdate();
+        }
+    }
+
 
     // ******************** Event handling ************************************
     public void setOnSeriesEvent(final SeriesEventListener LISTENER) { addSeriesEventListener(LISTENER); }
@@ -455,6 +521,32 @@ public abstract class Series<T extends Item> {
     public void removeSeriesEventListener(final SeriesEventListener LISTENER) { if (listeners.contains(LISTENER)) listeners.remove(LISTENER); }
 
     public void fireSeriesEvent(final SeriesEvent EVENT) {
+        if (updateDepth > 0) {
+            pendingPropertiesChanged = true;
+            return;
+        }
+        for (SeriesEventListener listener : listeners) { listener.onModelEvent(EVENT); }
+    }
+
+    // Hooks for subclasses that keep data derived from the items, called before the event is fired
+    protected void onItemsAdded(final int FROM, final List<? extends T> ITEMS) {}
+    protected void onItemsRemoved(final List<? extends T> ITEMS) {}
+    protected void onItemsUpdated() {}
+    protected void onItemValueChanged(final Object ITEM, final ItemValueEvt EVT) { onItemsUpdated(); }
+
+    protected void fireItemsAdded(final int NO_OF_ITEMS) { fireItemsChanged(NO_OF_ITEMS, 0, 0); }
+    protected void fireItemsRemoved(final int NO_OF_ITEMS) { fireItemsChanged(0, NO_OF_ITEMS, 0); }
+    protected void fireItemsUpdated(final int NO_OF_ITEMS) { fireItemsChanged(0, 0, NO_OF_ITEMS); }
+    protected void fireItemsChanged(final int NO_OF_ADDED, final int NO_OF_REMOVED, final int NO_OF_UPDATED) {
+        modificationCount++;
+        if (updateDepth > 0) {
+            pendingItemsAdded   += NO_OF_ADDED;
+            pendingItemsRemoved += NO_OF_REMOVED;
+            pendingItemsUpdated += NO_OF_UPDATED;
+            return;
+        }
+        if (listeners.isEmpty()) { return; }
+        final SeriesEvent<T> EVENT = new SeriesEvent<>(Series.this, false, NO_OF_ADDED, NO_OF_REMOVED, NO_OF_UPDATED, false);
         for (SeriesEventListener listener : listeners) { listener.onModelEvent(EVENT); }
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.series;
+
+
+/**
+ * Minimum or maximum of a sliding window of values, kept in a monotonic
+ * deque. Values enter at the back with increasing sequence numbers and
+ * leave at the front, each value is pushed and popped at most once.
+ */
+final class SlidingExtremum {
+    private static final int      INITIAL_CAPACITY = 16;
+    private        final boolean  MINIMUM;
+    private        final int      MAX_CAPACITY;
+    private              long[]   sequences;
+    private              double[] values;
+    private              int      head;
+    private              int      size;
+
+
+    // ******************** Constructors **************************************
+    SlidingExtremum(final int MAX_CAPACITY, final boolean MINIMUM) {
+        this.MINIMUM      = MINIMUM;
+        this.MAX_CAPACITY = MAX_CAPACITY;
+        sequences         = new long[Math.min(MAX_CAPACITY, INITIAL_CAPACITY)];
+        values            = new double[sequences.length];
+        head              = 0;
+        size              = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    double get() { return values[head]; }
+
+    // Drops all values at the back that can never become the extremum again
+    void push(final long SEQUENCE, final double VALUE) {
+        while (size > 0) {
+            final double LAST = values[index(size - 1)];
+            if (MINIMUM ? LAST < VALUE : LAST > VALUE) { break; }
+            size--;
+        }
+        // Noisy data keeps the deque short, only monotonic runs make it grow
+        if (size == values.length) { grow(); }
+        final int INDEX = index(size);
+        sequences[INDEX] = SEQUENCE;
+        values[INDEX]    = VALUE;
+        size++;
+    }
+
+    // Drops all values that are older than the given sequence number
+    void evict(final long OLDEST_SEQUENCE) {
+        while (size > 0 && sequences[head] < OLDEST_SEQUENCE) {
+            head = head + 1 == values.length ? 0 : head + 1;
+            size--;
+        }
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        final int      CAPACITY      = Math.min(MAX_CAPACITY, values.length * 2);
+        final long[]   NEW_SEQUENCES = new long[CAPACITY];
+        final double[] NEW_VALUES    = new double[CAPACITY];
+        for (int i = 0 ; i < size ; i++) {
+            NEW_SEQUENCES[i] = sequences[index(i)];
+            NEW_VALUES[i]    = values[index(i)];
+        }
+        sequences = NEW_SEQUENCES;
+        values    = NEW_VALUES;
+        head      = 0;
+    }
+
+    private int index(final int OFFSET) {
+        final int INDEX = head + OFFSET;
+        return INDEX >= values.length ? INDEX - values.length : INDEX;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.series;
+
+import com.chainstaysoftware.confidenceplot.charts.ChartType;
+import com.chainstaysoftware.confidenceplot.charts.Symbol;
+import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceChartItem;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Confidence series that keeps x, y, yMin and yMax in growable primitive
+ * arrays instead of one XYConfidenceChartItem per point. The list returned
+ * by getItems() stays empty, item objects are only created by getItem(int).
+ */
+public class XYConfidenceColumnSeries extends XYConfidenceSeries<XYConfidenceChartItem> {
+    private static final int    DEFAULT_CAPACITY = 16;
+    protected            double[] xValues;
+    protected            double[] yValues;
+    protected            double[] yMinValues;
+    protected            double[] yMaxValues;
+    protected            BitSet   emptyItems;
+    protected            int      noOfItems;
+
+
+    // ******************** Constructors **************************************
+    public XYConfidenceColumnSeries(final ChartType TYPE) {
+        this(DEFAULT_CAPACITY, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public XYConfidenceColumnSeries(final ChartType TYPE, final String NAME) {
+        this(DEFAULT_CAPACITY, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public XYConfidenceColumnSeries(final int CAPACITY, final ChartType TYPE, final String NAME) {
+        this(CAPACITY, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public XYConfidenceColumnSeries(final int CAPACITY, final ChartType TYPE, final String NAME,
+                                    final Paint FILL, final Paint STROKE, final Symbol SYMBOL,
+                                    final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        final int INITIAL_CAPACITY = Math.max(1, CAPACITY);
+        xValues    = new double[INITIAL_CAPACITY];
+        yValues    = new double[INITIAL_CAPACITY];
+        yMinValues = new double[INITIAL_CAPACITY];
+        yMaxValues = new double[INITIAL_CAPACITY];
+        emptyItems = new BitSet();
+        noOfItems  = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public int getNoOfItems() { return noOfItems; }
+
+    @Override public boolean isItemBacked() { return false; }
+
+    // The values live in the arrays, an item added to this list would be neither stored nor drawn
+    @Override public ObservableList<XYConfidenceChartItem> getItems() { return FXCollections.emptyObservableList(); }
+
+    /**
+     * Creates a new item from the values at the given index. The item is a
+     * snapshot, changing it will not change the series.
+     */
+    @Override public XYConfidenceChartItem getItem(final int INDEX) {
+        checkIndex(INDEX);
+        return new XYConfidenceChartItem(getX(INDEX), getY(INDEX), getYMin(INDEX), getYMax(INDEX), "", Color.RED, Color.TRANSPARENT, Symbol.NONE, "", isEmptyItem(INDEX));
+    }
+
+    @Override public double getX(final int INDEX) { checkIndex(INDEX); return xValues[INDEX]; }
+    @Override public double getY(final int INDEX) { checkIndex(INDEX); return yValues[INDEX]; }
+    @Override public double getYMin(final int INDEX) { checkIndex(INDEX); return yMinValues[INDEX]; }
+    @Override public double getYMax(final int INDEX) { checkIndex(INDEX); return yMaxValues[INDEX]; }
+    @Override public boolean isEmptyItem(final int INDEX) { checkIndex(INDEX); return emptyItems.get(INDEX); }
+
+    public void add(final double X, final double Y) { add(X, Y, Y, Y, false); }
+    public void add(final double X, final double Y, final double Y_MIN, final double Y_MAX) { add(X, Y, Y_MIN, Y_MAX, false); }
+    public void add(final double X, final double Y, final double Y_MIN, final double Y_MAX, final boolean IS_EMPTY) {
+        ensureCapacity(noOfItems + 1);
+        if (noOfItems > 0) { updateSortOrderOnAppend(xValues[noOfItems - 1], X); }
+        store(noOfItems, X, Y, Y_MIN, Y_MAX, IS_EMPTY);
+        includeInStatistics(X, Y, Y_MIN, Y_MAX);
+        noOfItems++;
+        appendToPyramid(noOfItems - 1);
+        fireItemsAdded(1);
+    }
+
+    public void addAll(final double[] X, final double[] Y, final double[] Y_MIN, final double[] Y_MAX) {
+        if (X.length != Y.length || X.length != Y_MIN.length || X.length != Y_MAX.length) { throw new IllegalArgumentException("Arrays must have the same length"); }
+        final int LENGTH = X.length;
+        ensureCapacity(noOfItems + LENGTH);
+        System.arraycopy(X, 0, xValues, noOfItems, LENGTH);
+        System.arraycopy(Y, 0, yValues, noOfItems, LENGTH);
+        System.arraycopy(Y_MIN, 0, yMinValues, noOfItems, LENGTH);
+        System.arraycopy(Y_MAX, 0, yMaxValues, noOfItems, LENGTH);
+        emptyItems.clear(noOfItems, noOfItems + LENGTH);
+        for (int i = 0 ; i < LENGTH ; i++) {
+            includeInStatistics(X[i], Y[i], Y_MIN[i], Y_MAX[i]);
+            if (noOfItems + i > 0) { updateSortOrderOnAppend(xValues[noOfItems + i - 1], X[i]); }
+        }
+        noOfItems += LENGTH;
+        for (int i = noOfItems - LENGTH ; i < noOfItems ; i++) { appendToPyramid(i); }
+        fireItemsAdded(LENGTH);
+    }
+
+    public void set(final int INDEX, final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        checkIndex(INDEX);
+        final double OLD_X     = xValues[INDEX];
+        final double OLD_Y     = yValues[INDEX];
+        final double OLD_Y_MIN = yMinValues[INDEX];
+        final double OLD_Y_MAX = yMaxValues[INDEX];
+        store(INDEX, X, Y, Y_MIN, Y_MAX, isEmptyItem(INDEX));
+        onItemUpdated(INDEX, OLD_X, OLD_Y, OLD_Y_MIN, OLD_Y_MAX, X, Y, Y_MIN, Y_MAX);
+        fireItemsUpdated(1);
+    }
+
+    public void setEmptyItem(final int INDEX, final boolean IS_EMPTY) {
+        checkIndex(INDEX);
+        emptyItems.set(INDEX, IS_EMPTY);
+        invalidatePyramid();
+        fireItemsUpdated(1);
+    }
+
+    public void remove(final int INDEX) {
+        checkIndex(INDEX);
+        excludeFromStatistics(xValues[INDEX], yValues[INDEX], yMinValues[INDEX], yMaxValues[INDEX]);
+        final int NO_OF_MOVED = noOfItems - INDEX - 1;
+        System.arraycopy(xValues, INDEX + 1, xValues, INDEX, NO_OF_MOVED);
+        System.arraycopy(yValues, INDEX + 1, yValues, INDEX, NO_OF_MOVED);
+        System.arraycopy(yMinValues, INDEX + 1, yMinValues, INDEX, NO_OF_MOVED);
+        System.arraycopy(yMaxValues, INDEX + 1, yMaxValues, INDEX, NO_OF_MOVED);
+        for (int i = INDEX ; i < noOfItems - 1 ; i++) { emptyItems.set(i, emptyItems.get(i + 1)); }
+        emptyItems.clear(noOfItems - 1);
+        noOfItems--;
+        updateSortOrderOnRemove();
+        invalidatePyramid();
+        fireItemsRemoved(1);
+    }
+
+    public void clear() {
+        final int NO_OF_REMOVED = noOfItems;
+        emptyItems.clear();
+        noOfItems = 0;
+        resetStatistics();
+        resetSortOrder();
+        invalidatePyramid();
+        fireItemsRemoved(NO_OF_REMOVED);
+    }
+
+    public void ensureCapacity(final int CAPACITY) {
+        if (CAPACITY <= xValues.length) { return; }
+        final int NEW_CAPACITY = Math.max(CAPACITY, xValues.length + (xValues.length >> 1));
+        xValues    = Arrays.copyOf(xValues, NEW_CAPACITY);
+        yValues    = Arrays.copyOf(yValues, NEW_CAPACITY);
+        yMinValues = Arrays.copyOf(yMinValues, NEW_CAPACITY);
+        yMaxValues = Arrays.copyOf(yMaxValues, NEW_CAPACITY);
+    }
+
+    public void trimToSize() {
+        final int CAPACITY = Math.max(1, noOfItems);
+        if (CAPACITY == xValues.length) { return; }
+        xValues    = Arrays.copyOf(xValues, CAPACITY);
+        yValues    = Arrays.copyOf(yValues, CAPACITY);
+        yMinValues = Arrays.copyOf(yMinValues, CAPACITY);
+        yMaxValues = Arrays.copyOf(yMaxValues, CAPACITY);
+    }
+
+    // Copies the values of the given items into the columns, the items themselves are not kept
+    @Override public void setItems(final Collection<XYConfidenceChartItem> ITEMS) { setItems(List.copyOf(ITEMS)); }
+    @Override public void setItems(final List<XYConfidenceChartItem> ITEMS) {
+        final int SIZE          = ITEMS.size();
+        final int NO_OF_REMOVED = noOfItems;
+        emptyItems.clear();
+        noOfItems = 0;
+        resetStatistics();
+        invalidateSortOrder();
+        ensureCapacity(SIZE);
+        for (int i = 0 ; i < SIZE ; i++) {
+            XYConfidenceChartItem item = ITEMS.get(i);
+            store(i, item.getX(), item.getY(), item.getYMin(), item.getYMax(), item.isEmptyItem());
+            includeInStatistics(item.getX(), item.getY(), item.getYMin(), item.getYMax());
+        }
+        noOfItems = SIZE;
+        invalidatePyramid();
+        fireItemsChanged(SIZE, NO_OF_REMOVED, 0);
+    }
+
+    protected void store(final int INDEX, final double X, final double Y, final double Y_MIN, final double Y_MAX, final boolean IS_EMPTY) {
+        xValues[INDEX]    = X;
+        yValues[INDEX]    = Y;
+        yMinValues[INDEX] = Y_MIN;
+        yMaxValues[INDEX] = Y_MAX;
+        emptyItems.set(INDEX, IS_EMPTY);
+    }
+
+    protected void checkIndex(final int INDEX) {
+        if (INDEX < 0 || INDEX >= noOfItems) { throw new IndexOutOfBoundsException("Index " + INDEX + " out of bounds for length " + noOfItems); }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.series;
+
+import java.util.Arrays;
+
+
+/**
+ * Precomputed aggregation levels (1:4, 1:16 and 1:64) of a confidence series.
+ * Each bucket keeps the first/last x and y, the min/max of y, the minimum
+ * yMin and the maximum yMax of its items. Buckets are keyed by the absolute
+ * sequence number of an item so appending and evicting the oldest items
+ * only touch the buckets at both ends, any other change rebuilds the levels
+ * on next access.
+ */
+public final class XYConfidencePyramid {
+    private static final int[]   FACTORS = { 4, 16, 64 };
+    private final        Level[] levels;
+    private              long    startSequence;
+    private              boolean valid;
+
+
+    // ******************** Constructors **************************************
+    XYConfidencePyramid() {
+        levels = new Level[FACTORS.length];
+        for (int i = 0 ; i < FACTORS.length ; i++) { levels[i] = new Level(FACTORS[i]); }
+        valid = false;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getNoOfLevels() { return levels.length; }
+
+    public int getFactor(final int LEVEL) { return levels[LEVEL].factor; }
+
+    public int getNoOfBuckets(final int LEVEL) { return levels[LEVEL].count; }
+
+    // Index of the bucket on the given level that holds the item at the given index
+    public int getBucketIndex(final int LEVEL, final int INDEX) {
+        final Level level = levels[LEVEL];
+        return (int) ((startSequence + INDEX) / level.factor - level.firstBucket);
+    }
+
+    public double getFirstX(final int LEVEL, final int BUCKET) { return levels[LEVEL].firstX[levels[LEVEL].start + BUCKET]; }
+    public double getLastX(final int LEVEL, final int BUCKET) { return levels[LEVEL].lastX[levels[LEVEL].start + BUCKET]; }
+
+    // NaN if the bucket only holds empty items
+    public double getFirstY(final int LEVEL, final int BUCKET) { return levels[LEVEL].firstY[levels[LEVEL].start + BUCKET]; }
+    public double getLastY(final int LEVEL, final int BUCKET) { return levels[LEVEL].lastY[levels[LEVEL].start + BUCKET]; }
+    public double getMinY(final int LEVEL, final int BUCKET) { return levels[LEVEL].minY[levels[LEVEL].start + BUCKET]; }
+    public double getMaxY(final int LEVEL, final int BUCKET) { return levels[LEVEL].maxY[levels[LEVEL].start + BUCKET]; }
+
+    public double getMinYMin(final int LEVEL, final int BUCKET) { return levels[LEVEL].minYMin[levels[LEVEL].start + BUCKET]; }
+    public double getMaxYMax(final int LEVEL, final int BUCKET) { return levels[LEVEL].maxYMax[levels[LEVEL].start + BUCKET]; }
+
+    // True if the bucket contains at least one empty item
+    public boolean hasGap(final int LEVEL, final int BUCKET) { return levels[LEVEL].gaps[levels[LEVEL].start + BUCKET]; }
+
+    boolean isValid() { return valid; }
+
+    void invalidate() { valid = false; }
+
+    void rebuild(final XYConfidenceSeries<?> SERIES) {
+        startSequence = 0;
+        for (Level level : levels) { level.clear(); }
+        valid = true;
+        final int NO_OF_ITEMS = SERIES.getNoOfItems();
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) { append(SERIES, i); }
+    }
+
+    void append(final XYConfidenceSeries<?> SERIES, final int INDEX) {
+        if (!valid) { return; }
+        final long SEQUENCE = startSequence + INDEX;
+        for (Level level : levels) {
+            final long BUCKET = SEQUENCE / level.factor;
+            if (level.count == 0 || BUCKET != level.firstBucket + level.count - 1) { level.push(BUCKET); }
+            level.include(level.start + level.count - 1, SERIES, INDEX);
+        }
+    }
+
+    // Drops the given number of oldest items, the partially evicted first buckets are recomputed
+    void evict(final XYConfidenceSeries<?> SERIES, final int NO_OF_ITEMS) {
+        if (!valid) { return; }
+        startSequence += NO_OF_ITEMS;
+        for (Level level : levels) {
+            while (level.count > 0 && (level.firstBucket + 1) * level.factor <= startSequence) {
+                level.start++;
+                level.firstBucket++;
+                level.count--;
+            }
+            if (level.count > 0 && level.firstBucket * level.factor < startSequence) {
+                final int END = (int) Math.min((level.firstBucket + 1) * level.factor - startSequence, SERIES.getNoOfItems());
+                level.reset(level.start);
+                for (int i = 0 ; i < END ; i++) { level.include(level.start, SERIES, i); }
+            }
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Level {
+        private final int       factor;
+        private       long      firstBucket;
+        private       int       start;
+        private       int       count;
+        private       double[]  firstX;
+        private       double[]  lastX;
+        private       double[]  firstY;
+        private       double[]  lastY;
+        private       double[]  minY;
+        private       double[]  maxY;
+        private       double[]  minYMin;
+        private       double[]  maxYMax;
+        private       boolean[] gaps;
+
+
+        Level(final int FACTOR) {
+            factor = FACTOR;
+            allocate(16);
+        }
+
+
+        void clear() {
+            firstBucket = 0;
+            start       = 0;
+            count       = 0;
+        }
+
+        void push(final long BUCKET) {
+            if (count == 0) {
+                start       = 0;
+                firstBucket = BUCKET;
+            }
+            if (start + count == firstX.length) {
+                if (start >= firstX.length / 2) {
+                    compact();
+                } else {
+                    grow();
+                }
+            }
+            reset(start + count);
+            count++;
+        }
+
+        void reset(final int SLOT) {
+            firstX[SLOT]  = Double.NaN;
+            lastX[SLOT]   = Double.NaN;
+            firstY[SLOT]  = Double.NaN;
+            lastY[SLOT]   = Double.NaN;
+            minY[SLOT]    = Double.POSITIVE_INFINITY;
+            maxY[SLOT]    = Double.NEGATIVE_INFINITY;
+            minYMin[SLOT] = Double.POSITIVE_INFINITY;
+            maxYMax[SLOT] = Double.NEGATIVE_INFINITY;
+            gaps[SLOT]    = false;
+        }
+
+        void include(final int SLOT, final XYConfidenceSeries<?> SERIES, final int INDEX) {
+            final double X = SERIES.getX(INDEX);
+            if (Double.isNaN(firstX[SLOT])) { firstX[SLOT] = X; }
+            lastX[SLOT]   = X;
+            minYMin[SLOT] = Math.min(minYMin[SLOT], SERIES.getYMin(INDEX));
+            maxYMax[SLOT] = Math.max(maxYMax[SLOT], SERIES.getYMax(INDEX));
+            if (SERIES.isEmptyItem(INDEX)) {
+                gaps[SLOT] = true;
+                return;
+            }
+            final double Y = SERIES.getY(INDEX);
+            if (Double.isNaN(firstY[SLOT])) { firstY[SLOT] = Y; }
+            lastY[SLOT] = Y;
+            minY[SLOT]  = Math.min(minY[SLOT], Y);
+            maxY[SLOT]  = Math.max(maxY[SLOT], Y);
+        }
+
+        private void allocate(final int CAPACITY) {
+            firstX  = new double[CAPACITY];
+            lastX   = new double[CAPACITY];
+            firstY  = new double[CAPACITY];
+            lastY   = new double[CAPACITY];
+            minY    = new double[CAPACITY];
+            maxY    = new double[CAPACITY];
+            minYMin = new double[CAPACITY];
+            maxYMax = new double[CAPACITY];
+            gaps    = new boolean[CAPACITY];
+        }
+
+        private void grow() {
+            final int CAPACITY = firstX.length * 2;
+            firstX  = Arrays.copyOf(firstX, CAPACITY);
+            lastX   = Arrays.copyOf(lastX, CAPACITY);
+            firstY  = Arrays.copyOf(firstY, CAPACITY);
+            lastY   = Arrays.copyOf(lastY, CAPACITY);
+            minY    = Arrays.copyOf(minY, CAPACITY);
+            maxY    = Arrays.copyOf(maxY, CAPACITY);
+            minYMin = Arrays.copyOf(minYMin, CAPACITY);
+            maxYMax = Arrays.copyOf(maxYMax, CAPACITY);
+            gaps    = Arrays.copyOf(gaps, CAPACITY);
+        }
+
+        // Moves the live buckets to the front of the arrays
+        private void compact() {
+            System.arraycopy(firstX, start, firstX, 0, count);
+            System.arraycopy(lastX, start, lastX, 0, count);
+            System.arraycopy(firstY, start, firstY, 0, count);
+            System.arraycopy(lastY, start, lastY, 0, count);
+            System.arraycopy(minY, start, minY, 0, count);
+            System.arraycopy(maxY, start, maxY, 0, count);
+            System.arraycopy(minYMin, start, minYMin, 0, count);
+            System.arraycopy(maxYMax, start, maxYMax, 0, count);
+            System.arraycopy(gaps, start, gaps, 0, count);
+            start = 0;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.series;
+
+import com.chainstaysoftware.confidenceplot.charts.ChartType;
+import com.chainstaysoftware.confidenceplot.charts.Symbol;
+import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceChartItem;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Fixed capacity confidence series for live data. Appending to a full series
+ * overwrites the oldest point in O(1), the renderer reads the logical window
+ * (oldest to newest) through the index accessors without copying.
+ */
+public class XYConfidenceRingSeries extends XYConfidenceSeries<XYConfidenceChartItem> {
+    private final int             capacity;
+    private final double[]        xValues;
+    private final double[]        yValues;
+    private final double[]        yMinValues;
+    private final double[]        yMaxValues;
+    private final BitSet          emptyItems;
+    private       int             head;
+    private       int             noOfItems;
+    // Number of neighbours in the window whose x decreases, the series is sorted if there are none
+    private       int             noOfDescents;
+    // The y extrema of the window, oldest points leave at the front like in the buffer
+    private final SlidingExtremum slidingMinY;
+    private final SlidingExtremum slidingMaxY;
+    private final SlidingExtremum slidingMinYMin;
+    private final SlidingExtremum slidingMaxYMax;
+    private       long            noOfAppended;
+    private       boolean         slidingExtremaValid;
+
+
+    // ******************** Constructors **************************************
+    public XYConfidenceRingSeries(final int CAPACITY, final ChartType TYPE) {
+        this(CAPACITY, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public XYConfidenceRingSeries(final int CAPACITY, final ChartType TYPE, final String NAME) {
+        this(CAPACITY, TYPE, NAME, Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, true);
+    }
+    public XYConfidenceRingSeries(final int CAPACITY, final ChartType TYPE, final String NAME,
+                                  final Paint FILL, final Paint STROKE, final Symbol SYMBOL,
+                                  final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        if (CAPACITY < 1) { throw new IllegalArgumentException("Capacity must be at least 1"); }
+        capacity   = CAPACITY;
+        xValues    = new double[CAPACITY];
+        yValues    = new double[CAPACITY];
+        yMinValues = new double[CAPACITY];
+        yMaxValues = new double[CAPACITY];
+        emptyItems = new BitSet(CAPACITY);
+        head       = 0;
+        noOfItems  = 0;
+
+        noOfDescents        = 0;
+        slidingMinY         = new SlidingExtremum(CAPACITY, true);
+        slidingMaxY         = new SlidingExtremum(CAPACITY, false);
+        slidingMinYMin      = new SlidingExtremum(CAPACITY, true);
+        slidingMaxYMax      = new SlidingExtremum(CAPACITY, false);
+        noOfAppended        = 0;
+        slidingExtremaValid = true;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getCapacity() { return capacity; }
+
+    public boolean isFull() { return noOfItems == capacity; }
+
+    @Override public int getNoOfItems() { return noOfItems; }
+
+    @Override public boolean isItemBacked() { return false; }
+
+    // The values live in the buffer, an item added to this list would be neither stored nor drawn
+    @Override public ObservableList<XYConfidenceChartItem> getItems() { return FXCollections.emptyObservableList(); }
+
+    @Override public boolean isSortedByX() { return noOfDescents == 0; }
+
+    @Override public double getMinY() { return getSlidingExtremum(slidingMinY); }
+    @Override public double getMaxY() { return getSlidingExtremum(slidingMaxY); }
+
+    @Override public double getMinYMin() { return getSlidingExtremum(slidingMinYMin); }
+    @Override public double getMaxYMax() { return getSlidingExtremum(slidingMaxYMax); }
+
+    /**
+     * Creates a new item from the values at the given index (0 is the oldest
+     * point). The item is a snapshot, changing it will not change the series.
+     */
+    @Override public XYConfidenceChartItem getItem(final int INDEX) {
+        checkIndex(INDEX);
+        return new XYConfidenceChartItem(getX(INDEX), getY(INDEX), getYMin(INDEX), getYMax(INDEX), "", Color.RED, Color.TRANSPARENT, Symbol.NONE, "", isEmptyItem(INDEX));
+    }
+
+    @Override public double getX(final int INDEX) { checkIndex(INDEX); return xValues[physicalIndex(INDEX)]; }
+    @Override public double getY(final int INDEX) { checkIndex(INDEX); return yValues[physicalIndex(INDEX)]; }
+    @Override public double getYMin(final int INDEX) { checkIndex(INDEX); return yMinValues[physicalIndex(INDEX)]; }
+    @Override public double getYMax(final int INDEX) { checkIndex(INDEX); return yMaxValues[physicalIndex(INDEX)]; }
+    @Override public boolean isEmptyItem(final int INDEX) { checkIndex(INDEX); return emptyItems.get(physicalIndex(INDEX)); }
+
+    public void add(final double X, final double Y) { add(X, Y, Y, Y, false); }
+    public void add(final double X, final double Y, final double Y_MIN, final double Y_MAX) { add(X, Y, Y_MIN, Y_MAX, false); }
+    public void add(final double X, final double Y, final double Y_MIN, final double Y_MAX, final boolean IS_EMPTY) {
+        final boolean EVICTED = append(X, Y, Y_MIN, Y_MAX, IS_EMPTY);
+        fireItemsChanged(1, EVICTED ? 1 : 0, 0);
+    }
+
+    public void addAll(final double[] X, final double[] Y, final double[] Y_MIN, final double[] Y_MAX) {
+        if (X.length != Y.length || X.length != Y_MIN.length || X.length != Y_MAX.length) { throw new IllegalArgumentException("Arrays must have the same length"); }
+        // Only the last capacity values can survive, skip the rest
+        final int START   = Math.max(0, X.length - capacity);
+        int       evicted = 0;
+        for (int i = START ; i < X.length ; i++) {
+            if (append(X[i], Y[i], Y_MIN[i], Y_MAX[i], false)) { evicted++; }
+        }
+        fireItemsChanged(X.length - START, evicted, 0);
+    }
+
+    public void set(final int INDEX, final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        checkIndex(INDEX);
+        final int    PHYSICAL_INDEX = physicalIndex(INDEX);
+        final double OLD_X          = xValues[PHYSICAL_INDEX];
+        final double OLD_Y          = yValues[PHYSICAL_INDEX];
+        final double OLD_Y_MIN      = yMinValues[PHYSICAL_INDEX];
+        final double OLD_Y_MAX      = yMaxValues[PHYSICAL_INDEX];
+        noOfDescents -= countDescentsAround(INDEX);
+        store(PHYSICAL_INDEX, X, Y, Y_MIN, Y_MAX, emptyItems.get(PHYSICAL_INDEX));
+        noOfDescents += countDescentsAround(INDEX);
+        onItemUpdated(INDEX, OLD_X, OLD_Y, OLD_Y_MIN, OLD_Y_MAX, X, Y, Y_MIN, Y_MAX);
+        // A point in the middle of the window breaks the deques, they are rebuilt on next access
+        slidingExtremaValid = false;
+        fireItemsUpdated(1);
+    }
+
+    public void setEmptyItem(final int INDEX, final boolean IS_EMPTY) {
+        checkIndex(INDEX);
+        emptyItems.set(physicalIndex(INDEX), IS_EMPTY);
+        invalidatePyramid();
+        fireItemsUpdated(1);
+    }
+
+    /**
+     * Removes the given number of oldest points.
+     */
+    public void evict(final int NO_OF_ITEMS) {
+        final int NO_OF_EVICTED = Math.min(Math.max(0, NO_OF_ITEMS), noOfItems);
+        if (NO_OF_EVICTED == 0) { return; }
+        for (int i = 0 ; i < NO_OF_EVICTED ; i++) {
+            excludePhysical(physicalIndex(i));
+            if (i + 1 < noOfItems && getX(i + 1) < getX(i)) { noOfDescents--; }
+        }
+        head       = (head + NO_OF_EVICTED) % capacity;
+        noOfItems -= NO_OF_EVICTED;
+        evictSlidingExtrema();
+        evictFromPyramid(NO_OF_EVICTED);
+        fireItemsRemoved(NO_OF_EVICTED);
+    }
+
+    public void clear() {
+        final int NO_OF_REMOVED = noOfItems;
+        head      = 0;
+        noOfItems = 0;
+        emptyItems.clear();
+        resetStatistics();
+        resetSlidingExtrema();
+        noOfDescents = 0;
+        invalidatePyramid();
+        fireItemsRemoved(NO_OF_REMOVED);
+    }
+
+    // Copies the values of the last capacity items into the buffer, the items themselves are not kept
+    @Override public void setItems(final Collection<XYConfidenceChartItem> ITEMS) { setItems(List.copyOf(ITEMS)); }
+    @Override public void setItems(final List<XYConfidenceChartItem> ITEMS) {
+        final int NO_OF_REMOVED = noOfItems;
+        head      = 0;
+        noOfItems = 0;
+        emptyItems.clear();
+        resetStatistics();
+        resetSlidingExtrema();
+        noOfDescents = 0;
+        invalidatePyramid();
+        final int SIZE = ITEMS.size();
+        for (int i = Math.max(0, SIZE - capacity) ; i < SIZE ; i++) {
+            XYConfidenceChartItem item = ITEMS.get(i);
+            append(item.getX(), item.getY(), item.getYMin(), item.getYMax(), item.isEmptyItem());
+        }
+        fireItemsChanged(noOfItems, NO_OF_REMOVED, 0);
+    }
+
+    // Returns true if the oldest point was overwritten
+    private boolean append(final double X, final double Y, final double Y_MIN, final double Y_MAX, final boolean IS_EMPTY) {
+        includeInStatistics(X, Y, Y_MIN, Y_MAX);
+        // The pair at the front leaves with the oldest point, the new point pairs up with the newest one
+        final boolean FULL = noOfItems == capacity;
+        if (FULL && noOfItems > 1 && getX(1) < getX(0)) { noOfDescents--; }
+        if (noOfItems > (FULL ? 1 : 0) && X < getX(noOfItems - 1)) { noOfDescents++; }
+        if (FULL) {
+            excludePhysical(head);
+            store(head, X, Y, Y_MIN, Y_MAX, IS_EMPTY);
+            head = head + 1 == capacity ? 0 : head + 1;
+            appendToSlidingExtrema(Y, Y_MIN, Y_MAX);
+            evictFromPyramid(1);
+            appendToPyramid(noOfItems - 1);
+            return true;
+        } else {
+            store(physicalIndex(noOfItems), X, Y, Y_MIN, Y_MAX, IS_EMPTY);
+            noOfItems++;
+            appendToSlidingExtrema(Y, Y_MIN, Y_MAX);
+            appendToPyramid(noOfItems - 1);
+            return false;
+        }
+    }
+
+    // Sequence numbers of the live points run from noOfAppended - noOfItems to noOfAppended - 1
+    private void appendToSlidingExtrema(final double Y, final double Y_MIN, final double Y_MAX) {
+        noOfAppended++;
+        if (!slidingExtremaValid) { return; }
+        evictSlidingExtrema();
+        slidingMinY.push(noOfAppended - 1, Y);
+        slidingMaxY.push(noOfAppended - 1, Y);
+        slidingMinYMin.push(noOfAppended - 1, Y_MIN);
+        slidingMaxYMax.push(noOfAppended - 1, Y_MAX);
+    }
+    private void evictSlidingExtrema() {
+        final long OLDEST = noOfAppended - noOfItems;
+        slidingMinY.evict(OLDEST);
+        slidingMaxY.evict(OLDEST);
+        slidingMinYMin.evict(OLDEST);
+        slidingMaxYMax.evict(OLDEST);
+    }
+    private void resetSlidingExtrema() {
+        slidingMinY.clear();
+        slidingMaxY.clear();
+        slidingMinYMin.clear();
+        slidingMaxYMax.clear();
+        slidingExtremaValid = true;
+    }
+    private double getSlidingExtremum(final SlidingExtremum EXTREMUM) {
+        if (noOfItems == 0) { throw new NoSuchElementException("Series contains no items"); }
+        if (!slidingExtremaValid) {
+            resetSlidingExtrema();
+            final long FIRST = noOfAppended - noOfItems;
+            for (int i = 0 ; i < noOfItems ; i++) {
+                final int PHYSICAL_INDEX = physicalIndex(i);
+                slidingMinY.push(FIRST + i, yValues[PHYSICAL_INDEX]);
+                slidingMaxY.push(FIRST + i, yValues[PHYSICAL_INDEX]);
+                slidingMinYMin.push(FIRST + i, yMinValues[PHYSICAL_INDEX]);
+                slidingMaxYMax.push(FIRST + i, yMaxValues[PHYSICAL_INDEX]);
+            }
+        }
+        return EXTREMUM.get();
+    }
+
+    // Descents between the item and its neighbours
+    private int countDescentsAround(final int INDEX) {
+        int descents = 0;
+        if (INDEX > 0 && getX(INDEX) < getX(INDEX - 1)) { descents++; }
+        if (INDEX < noOfItems - 1 && getX(INDEX + 1) < getX(INDEX)) { descents++; }
+        return descents;
+    }
+
+    private void excludePhysical(final int PHYSICAL_INDEX) {
+        excludeFromStatistics(xValues[PHYSICAL_INDEX], yValues[PHYSICAL_INDEX], yMinValues[PHYSICAL_INDEX], yMaxValues[PHYSICAL_INDEX]);
+    }
+
+    private void store(final int PHYSICAL_INDEX, final double X, final double Y, final double Y_MIN, final double Y_MAX, final boolean IS_EMPTY) {
+        xValues[PHYSICAL_INDEX]    = X;
+        yValues[PHYSICAL_INDEX]    = Y;
+        yMinValues[PHYSICAL_INDEX] = Y_MIN;
+        yMaxValues[PHYSICAL_INDEX] = Y_MAX;
+        emptyItems.set(PHYSICAL_INDEX, IS_EMPTY);
+    }
+
+    private int physicalIndex(final int INDEX) {
+        final int INDEX_IN_BUFFER = head + INDEX;
+        return INDEX_IN_BUFFER >= capacity ? INDEX_IN_BUFFER - capacity : INDEX_IN_BUFFER;
+    }
+
+    private void checkIndex(final int INDEX) {
+        if (INDEX < 0 || INDEX >= noOfItems) { throw new IndexOutOfBoundsException("Index " + INDEX + " out of bounds for length " + noOfItems); }
+    }
+}
@@ -20,6 +20,7 @@ import com.chainstaysoftware.confidenceplot.charts.ChartType;
 import com.chainstaysoftware.confidenceplot.charts.Symbol;
 import com.chainstaysoftware.confidenceplot.charts.XYConfidencePane;
 import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceItem;
+import com.chainstaysoftware.confidenceplot.charts.event.ItemValueEvt;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
@@ -28,14 +29,14 @@ import javafx.collections.ObservableList;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 
 /**
  * Created by hansolo on 16.07.17.
  */
-public class XYConfidenceSeries<T extends XYConfidenceItem> extends Series {
+public class XYConfidenceSeries<T extends XYConfidenceItem> extends Series<T> {
 
     private              Paint                          _confidenceIntervalFill;
     private              ObjectProperty<Paint>          confidenceIntervalFill;
@@ -43,6 +44,9 @@ public class XYConfidenceSeries<T extends XYConfidenceItem> extends Series {
     private              ObjectProperty<Paint>          confidenceIntervalStroke;
     private              boolean                        _confidenceIntervalVisible;
     private              BooleanProperty                confidenceIntervalVisible;
+    private final        XYConfidenceStatistics         statistics = new XYConfidenceStatistics();
+    private              SortOrder                      sortOrder  = SortOrder.UNKNOWN;
+    private              XYConfidencePyramid            pyramid;
 
     // ******************** Constructors **************************************
     public XYConfidenceSeries(final List<T> ITEMS, final ChartType TYPE) {
@@ -84,17 +88,114 @@ public class XYConfidenceSeries<T extends XYConfidenceItem> extends Series {
     // ******************** Methods *******************************************
     @Override public ObservableList<T> getItems() { return items; }
 
-    public double getMinX() { return getItems().stream().min(Comparator.comparingDouble(T::getX)).get().getX(); }
-    public double getMaxX() { return getItems().stream().max(Comparator.comparingDouble(T::getX)).get().getX(); }
+    // Index based access used by the renderer, overridden by series that do not keep item objects
+    public T getItem(final int INDEX) { return getItems().get(INDEX); }
 
-    public double getMinY() { return getItems().stream().min(Comparator.comparingDouble(T::getY)).get().getY(); }
-    public double getMaxY() { return getItems().stream().max(Comparator.comparingDouble(T::getY)).get().getY(); }
+    public double getX(final int INDEX) { return getItems().get(INDEX).getX(); }
+    public double getY(final int INDEX) { return getItems().get(INDEX).getY(); }
+    public double getYMin(final int INDEX) { return getItems().get(INDEX).getYMin(); }
+    public double getYMax(final int INDEX) { return getItems().get(INDEX).getYMax(); }
+    public boolean isEmptyItem(final int INDEX) { return getItems().get(INDEX).isEmptyItem(); }
+
+    public boolean isItemBacked() { return true; }
+
+    // A series that is sorted by x holds its x extrema at both ends
+    public double getMinX() { return isSortedByX() && getNoOfItems() > 0 ? getX(0) : getStatistics(XYConfidenceStatistics.MIN_X).getMinX(); }
+    public double getMaxX() { return isSortedByX() && getNoOfItems() > 0 ? getX(getNoOfItems() - 1) : getStatistics(XYConfidenceStatistics.MAX_X).getMaxX(); }
+
+    public double getMinY() { return getStatistics(XYConfidenceStatistics.MIN_Y).getMinY(); }
+    public double getMaxY() { return getStatistics(XYConfidenceStatistics.MAX_Y).getMaxY(); }
+
+    public double getMinYMin() { return getStatistics(XYConfidenceStatistics.MIN_Y_MIN).getMinYMin(); }
+    public double getMaxYMax() { return getStatistics(XYConfidenceStatistics.MAX_Y_MAX).getMaxYMax(); }
+
+    /**
+     * Returns true if the x values never decrease from one item to the next.
+     * The state is tracked on append and only rechecked after other changes.
+     */
+    public boolean isSortedByX() {
+        if (SortOrder.UNKNOWN == sortOrder) {
+            final int NO_OF_ITEMS = getNoOfItems();
+            sortOrder = SortOrder.SORTED;
+            for (int i = 1 ; i < NO_OF_ITEMS ; i++) {
+                if (getX(i) < getX(i - 1)) {
+                    sortOrder = SortOrder.UNSORTED;
+                    break;
+                }
+            }
+        }
+        return SortOrder.SORTED == sortOrder;
+    }
+
+    // Binary searches on x, only valid if isSortedByX() is true
+    public int lowerBoundIndexOfX(final double X) {
+        int low  = 0;
+        int high = getNoOfItems();
+        while (low < high) {
+            final int MID = (low + high) >>> 1;
+            if (getX(MID) < X) { low = MID + 1; } else { high = MID; }
+        }
+        return low;
+    }
+    public int upperBoundIndexOfX(final double X) {
+        int low  = 0;
+        int high = getNoOfItems();
+        while (low < high) {
+            final int MID = (low + high) >>> 1;
+            if (getX(MID) <= X) { low = MID + 1; } else { high = MID; }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the item whose x is closest to the given value or
+     * -1 if the series is empty. Sorted series are binary searched, unsorted
+     * ones are scanned.
+     */
+    public int nearestIndexOfX(final double X) {
+        final int NO_OF_ITEMS = getNoOfItems();
+        if (0 == NO_OF_ITEMS) { return -1; }
+        if (isSortedByX()) {
+            final int INDEX = lowerBoundIndexOfX(X);
+            if (0 == INDEX) { return 0; }
+            if (NO_OF_ITEMS == INDEX) { return NO_OF_ITEMS - 1; }
+            return X - getX(INDEX - 1) <= getX(INDEX) - X ? INDEX - 1 : INDEX;
+        }
+        int    nearest         = 0;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) {
+            final double DISTANCE = Math.abs(getX(i) - X);
+            if (DISTANCE < nearestDistance) {
+                nearest         = i;
+                nearestDistance = DISTANCE;
+            }
+        }
+        return nearest;
+    }
+
+    public boolean isPyramidEnabled() { return null != pyramid; }
+    /**
+     * Enables the aggregation levels used by the pane to draw long, zoomed
+     * out series with about one bucket per pixel. Costs roughly a third of
+     * the memory of the series itself.
+     */
+    public void setPyramidEnabled(final boolean ENABLED) {
+        if (ENABLED == isPyramidEnabled()) { return; }
+        pyramid = ENABLED ? new XYConfidencePyramid() : null;
+        refresh();
+    }
+
+    // Returns null if the pyramid is not enabled
+    public XYConfidencePyramid getPyramid() {
+        if (null != pyramid && !pyramid.isValid()) { pyramid.rebuild(this); }
+        return pyramid;
+    }
 
     public double getRangeX() { return getMaxX() - getMinX(); }
     public double getRangeY() { return getMaxY() - getMinY(); }
 
-    public double getSumOfXValues() { return getItems().stream().mapToDouble(T::getX).sum(); }
-    public double getSumOfYValues() { return getItems().stream().mapToDouble(T::getY).sum(); }
+    public double getSumOfXValues() { return getNoOfItems() == 0 ? 0 : getStatistics(XYConfidenceStatistics.SUMS).getSumX(); }
+    public double getSumOfYValues() { return getNoOfItems() == 0 ? 0 : getStatistics(XYConfidenceStatistics.SUMS).getSumY(); }
 
     public Paint getConfidenceIntervalFill() { return null == confidenceIntervalFill ? _confidenceIntervalFill : confidenceIntervalFill.get(); }
     public void setConfidenceIntervalFill(final Paint CONFIDENCE_INTERVAL_FILL) {
@@ -157,4 +258,100 @@ public class XYConfidenceSeries<T extends XYConfidenceItem> extends Series {
         }
         return confidenceIntervalVisible;
     }
+
+    // ******************** Statistics ****************************************
+    @Override protected void onItemsAdded(final int FROM, final List<? extends T> ITEMS) {
+        final boolean APPENDED = FROM + ITEMS.size() == getNoOfItems();
+        double        lastX    = FROM > 0 ? getX(FROM - 1) : Double.NEGATIVE_INFINITY;
+        for (T item : ITEMS) {
+            includeInStatistics(item.getX(), item.getY(), item.getYMin(), item.getYMax());
+            if (APPENDED) { updateSortOrderOnAppend(lastX, item.getX()); }
+            lastX = item.getX();
+        }
+        if (APPENDED) {
+            for (int i = FROM ; i < FROM + ITEMS.size() ; i++) { appendToPyramid(i); }
+        } else {
+            invalidateSortOrder();
+            invalidatePyramid();
+        }
+    }
+    @Override protected void onItemsRemoved(final List<? extends T> ITEMS) {
+        for (T item : ITEMS) { excludeFromStatistics(item.getX(), item.getY(), item.getYMin(), item.getYMax()); }
+        updateSortOrderOnRemove();
+        invalidatePyramid();
+    }
+    // An item was changed in place, its previous values are unknown so the aggregates are recomputed on next access
+    @Override protected void onItemsUpdated() {
+        invalidateStatistics();
+        invalidateSortOrder();
+        invalidatePyramid();
+    }
+    // Only a change of x can break the order, so the index is only looked up then
+    @Override protected void onItemValueChanged(final Object ITEM, final ItemValueEvt EVT) {
+        final boolean X_CHANGED = Double.compare(EVT.getOldX(), EVT.getX()) != 0;
+        final int     INDEX     = X_CHANGED ? getItems().indexOf(ITEM) : -1;
+        if (X_CHANGED && INDEX < 0) { invalidateSortOrder(); }
+        onItemUpdated(INDEX, EVT.getOldX(), EVT.getOldY(), EVT.getOldYMin(), EVT.getOldYMax(), EVT.getX(), EVT.getY(), EVT.getYMin(), EVT.getYMax());
+    }
+    // Call if the previous values of the updated point are known, INDEX may be -1 if x did not change
+    protected void onItemUpdated(final int INDEX, final double OLD_X, final double OLD_Y, final double OLD_Y_MIN, final double OLD_Y_MAX,
+                                 final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        if (Double.compare(OLD_X, X) != 0 || Double.compare(OLD_Y, Y) != 0 || Double.compare(OLD_Y_MIN, Y_MIN) != 0 || Double.compare(OLD_Y_MAX, Y_MAX) != 0) {
+            excludeFromStatistics(OLD_X, OLD_Y, OLD_Y_MIN, OLD_Y_MAX);
+            includeInStatistics(X, Y, Y_MIN, Y_MAX);
+        }
+        if (INDEX > -1) { updateSortOrderOnSet(INDEX, X); }
+        invalidatePyramid();
+    }
+
+    protected void includeInStatistics(final double X, final double Y, final double Y_MIN, final double Y_MAX) { statistics.include(X, Y, Y_MIN, Y_MAX); }
+    protected void excludeFromStatistics(final double X, final double Y, final double Y_MIN, final double Y_MAX) { statistics.exclude(X, Y, Y_MIN, Y_MAX); }
+    protected void resetStatistics() { statistics.reset(); }
+    protected void invalidateStatistics() { statistics.invalidate(); }
+
+    // ******************** Sort order ****************************************
+    protected void updateSortOrderOnAppend(final double PREVIOUS_X, final double X) {
+        if (SortOrder.SORTED == sortOrder && X < PREVIOUS_X) { sortOrder = SortOrder.UNSORTED; }
+    }
+    protected void updateSortOrderOnSet(final int INDEX, final double X) {
+        if (SortOrder.SORTED == sortOrder) {
+            if ((INDEX > 0 && getX(INDEX - 1) > X) || (INDEX < getNoOfItems() - 1 && getX(INDEX + 1) < X)) { sortOrder = SortOrder.UNSORTED; }
+        } else {
+            sortOrder = SortOrder.UNKNOWN;
+        }
+    }
+    // Removing items never breaks the order but might fix it
+    protected void updateSortOrderOnRemove() {
+        if (SortOrder.UNSORTED == sortOrder) { sortOrder = SortOrder.UNKNOWN; }
+    }
+    protected void resetSortOrder() { sortOrder = SortOrder.SORTED; }
+    protected void invalidateSortOrder() { sortOrder = SortOrder.UNKNOWN; }
+
+    // ******************** Pyramid *******************************************
+    protected void appendToPyramid(final int INDEX) {
+        if (null != pyramid) { pyramid.append(this, INDEX); }
+    }
+    // Call after the oldest items have been removed
+    protected void evictFromPyramid(final int NO_OF_ITEMS) {
+        if (null != pyramid) { pyramid.evict(this, NO_OF_ITEMS); }
+    }
+    protected void invalidatePyramid() {
+        if (null != pyramid) { pyramid.invalidate(); }
+    }
+
+    // Recomputes all dirty aggregates in one pass if one of the requested ones is dirty
+    private XYConfidenceStatistics getStatistics(final int AGGREGATES) {
+        final int NO_OF_ITEMS = getNoOfItems();
+        if (NO_OF_ITEMS == 0) { throw new NoSuchElementException("Series contains no items"); }
+        if (statistics.isDirty(AGGREGATES)) {
+            final int DIRTY = statistics.getDirty();
+            statistics.beginRecompute(DIRTY);
+            for (int i = 0 ; i < NO_OF_ITEMS ; i++) { statistics.recompute(DIRTY, getX(i), getY(i), getYMin(i), getYMax(i)); }
+            statistics.endRecompute(DIRTY);
+        }
+        return statistics;
+    }
+
+
+    private enum SortOrder { UNKNOWN, SORTED, UNSORTED }
 }
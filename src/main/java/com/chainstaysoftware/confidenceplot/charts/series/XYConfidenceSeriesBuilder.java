@@ -34,6 +34,7 @@ import javafx.beans.property.StringProperty;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -146,10 +147,11 @@ public class XYConfidenceSeriesBuilder {
         final XYConfidenceSeries<T> SERIES = new XYConfidenceSeries<>(List.of(), ChartType.CONFIDENCE_LINE);
 
         if (properties.keySet().contains("itemsArray")) {
-            SERIES.setItems(((ObjectProperty<XYItem[]>) properties.get("itemsArray")).get());
+            final List<? extends XYItem> ITEMS = Arrays.asList(((ObjectProperty<XYItem[]>) properties.get("itemsArray")).get());
+            SERIES.setItems((List<T>) ITEMS);
         }
         if(properties.keySet().contains("itemsList")) {
-            SERIES.setItems(((ObjectProperty<List<XYItem>>) properties.get("itemsList")).get());
+            SERIES.setItems(((ObjectProperty<List<T>>) properties.get("itemsList")).get());
         }
 
         for (String key : properties.keySet()) {
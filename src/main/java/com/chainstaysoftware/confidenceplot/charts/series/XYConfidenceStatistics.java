@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.series;
+
+
+/**
+ * Running aggregates of a confidence series. Values are included and
+ * excluded as points are added and removed. The sums are always kept up to
+ * date, removing a point that holds an extremum only marks that extremum
+ * dirty so that nothing else has to be recomputed.
+ */
+final class XYConfidenceStatistics {
+    static final int MIN_X     = 1;
+    static final int MAX_X     = 1 << 1;
+    static final int MIN_Y     = 1 << 2;
+    static final int MAX_Y     = 1 << 3;
+    static final int MIN_Y_MIN = 1 << 4;
+    static final int MAX_Y_MAX = 1 << 5;
+    static final int SUMS      = 1 << 6;
+    static final int ALL       = MIN_X | MAX_X | MIN_Y | MAX_Y | MIN_Y_MIN | MAX_Y_MAX | SUMS;
+    private double   minX;
+    private double   maxX;
+    private double   minY;
+    private double   maxY;
+    private double   minYMin;
+    private double   maxYMax;
+    private double   sumX;
+    private double   sumY;
+    private int      dirty;
+
+
+    // ******************** Constructors **************************************
+    XYConfidenceStatistics() {
+        reset();
+        // Items might have been set before the statistics existed
+        dirty = ALL;
+    }
+
+
+    // ******************** Methods *******************************************
+    double getMinX() { return minX; }
+    double getMaxX() { return maxX; }
+
+    double getMinY() { return minY; }
+    double getMaxY() { return maxY; }
+
+    double getMinYMin() { return minYMin; }
+    double getMaxYMax() { return maxYMax; }
+
+    double getSumX() { return sumX; }
+    double getSumY() { return sumY; }
+
+    int getDirty() { return dirty; }
+    boolean isDirty(final int AGGREGATES) { return (dirty & AGGREGATES) != 0; }
+
+    // Use if the removed values are unknown
+    void invalidate() { dirty = ALL; }
+
+    void reset() {
+        minX    = Double.POSITIVE_INFINITY;
+        maxX    = Double.NEGATIVE_INFINITY;
+        minY    = Double.POSITIVE_INFINITY;
+        maxY    = Double.NEGATIVE_INFINITY;
+        minYMin = Double.POSITIVE_INFINITY;
+        maxYMax = Double.NEGATIVE_INFINITY;
+        sumX    = 0;
+        sumY    = 0;
+        dirty   = 0;
+    }
+
+    void include(final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        minX     = Math.min(minX, X);
+        maxX     = Math.max(maxX, X);
+        minY     = Math.min(minY, Y);
+        maxY     = Math.max(maxY, Y);
+        minYMin  = Math.min(minYMin, Y_MIN);
+        maxYMax  = Math.max(maxYMax, Y_MAX);
+        sumX    += X;
+        sumY    += Y;
+    }
+
+    void exclude(final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        sumX -= X;
+        sumY -= Y;
+        if (X == minX)        { dirty |= MIN_X; }
+        if (X == maxX)        { dirty |= MAX_X; }
+        if (Y == minY)        { dirty |= MIN_Y; }
+        if (Y == maxY)        { dirty |= MAX_Y; }
+        if (Y_MIN == minYMin) { dirty |= MIN_Y_MIN; }
+        if (Y_MAX == maxYMax) { dirty |= MAX_Y_MAX; }
+    }
+
+    /**
+     * Clears the given aggregates, call recompute() for every point
+     * afterwards and finish with endRecompute().
+     */
+    void beginRecompute(final int AGGREGATES) {
+        if ((AGGREGATES & MIN_X) != 0)     { minX    = Double.POSITIVE_INFINITY; }
+        if ((AGGREGATES & MAX_X) != 0)     { maxX    = Double.NEGATIVE_INFINITY; }
+        if ((AGGREGATES & MIN_Y) != 0)     { minY    = Double.POSITIVE_INFINITY; }
+        if ((AGGREGATES & MAX_Y) != 0)     { maxY    = Double.NEGATIVE_INFINITY; }
+        if ((AGGREGATES & MIN_Y_MIN) != 0) { minYMin = Double.POSITIVE_INFINITY; }
+        if ((AGGREGATES & MAX_Y_MAX) != 0) { maxYMax = Double.NEGATIVE_INFINITY; }
+        if ((AGGREGATES & SUMS) != 0)      { sumX = 0; sumY = 0; }
+    }
+    void recompute(final int AGGREGATES, final double X, final double Y, final double Y_MIN, final double Y_MAX) {
+        if ((AGGREGATES & MIN_X) != 0)     { minX = Math.min(minX, X); }
+        if ((AGGREGATES & MAX_X) != 0)     { maxX = Math.max(maxX, X); }
+        if ((AGGREGATES & MIN_Y) != 0)     { minY = Math.min(minY, Y); }
+        if ((AGGREGATES & MAX_Y) != 0)     { maxY = Math.max(maxY, Y); }
+        if ((AGGREGATES & MIN_Y_MIN) != 0) { minYMin = Math.min(minYMin, Y_MIN); }
+        if ((AGGREGATES & MAX_Y_MAX) != 0) { maxYMax = Math.max(maxYMax, Y_MAX); }
+        if ((AGGREGATES & SUMS) != 0)      { sumX += X; sumY += Y; }
+    }
+    void endRecompute(final int AGGREGATES) { dirty &= ~AGGREGATES; }
+}
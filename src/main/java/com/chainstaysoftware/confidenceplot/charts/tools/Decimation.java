@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.tools;
+
+/**
+ * Controls how dense series are reduced before they get drawn.
+ * NONE draws every visible item, LTTB keeps roughly two vertices per pixel
+ * column by using Largest-Triangle-Three-Buckets for the line and the
+ * per column min(yMin) / max(yMax) for the confidence band.
+ */
+public enum Decimation {
+    NONE, LTTB
+}
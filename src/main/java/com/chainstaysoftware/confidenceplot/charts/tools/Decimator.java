@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts.tools;
+
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
+
+
+/**
+ * Reduces the visible slice of a series to about one vertex per pixel
+ * column. Both methods expect the series to be sorted by x and write into
+ * caller owned arrays so that nothing gets allocated per frame.
+ */
+public class Decimator {
+
+    private Decimator() {}
+
+
+    /**
+     * Selects THRESHOLD indices out of [FROM, TO) with the
+     * Largest-Triangle-Three-Buckets algorithm. The first and last index are
+     * always kept, a bucket that contains an empty item keeps that item so
+     * gaps in the line survive. The triangles always start at the last
+     * selected non-empty item. Returns the number of indices written.
+     */
+    public static int largestTriangleThreeBuckets(final XYConfidenceSeries<?> SERIES, final int FROM, final int TO, final int THRESHOLD, final int[] INDICES) {
+        final int NO_OF_ITEMS = TO - FROM;
+        if (THRESHOLD >= NO_OF_ITEMS || THRESHOLD < 3) {
+            for (int i = 0 ; i < NO_OF_ITEMS ; i++) { INDICES[i] = FROM + i; }
+            return NO_OF_ITEMS;
+        }
+
+        final double BUCKET_SIZE = (double) (NO_OF_ITEMS - 2) / (THRESHOLD - 2);
+        int count    = 0;
+        int selected = FROM; // last selected non-empty item, corner A of the triangle
+        INDICES[count++] = FROM;
+        for (int bucket = 0 ; bucket < THRESHOLD - 2 ; bucket++) {
+            // Average of the next bucket is the third corner of the triangle
+            final int NEXT_START = FROM + (int) ((bucket + 1) * BUCKET_SIZE) + 1;
+            final int NEXT_END   = Math.min(FROM + (int) ((bucket + 2) * BUCKET_SIZE) + 1, TO);
+            double    avgX       = 0;
+            double    avgY       = 0;
+            int       avgCount   = 0;
+            for (int i = NEXT_START ; i < NEXT_END ; i++) {
+                if (SERIES.isEmptyItem(i)) { continue; }
+                avgX += SERIES.getX(i);
+                avgY += SERIES.getY(i);
+                avgCount++;
+            }
+            if (avgCount == 0) {
+                avgX = SERIES.getX(NEXT_END - 1);
+                avgY = SERIES.getY(NEXT_END - 1);
+            } else {
+                avgX /= avgCount;
+                avgY /= avgCount;
+            }
+
+            final int    START   = FROM + (int) (bucket * BUCKET_SIZE) + 1;
+            final int    END     = FROM + (int) ((bucket + 1) * BUCKET_SIZE) + 1;
+            final double X_A     = SERIES.getX(selected);
+            final double Y_A     = SERIES.getY(selected);
+            double       maxArea = -1;
+            int          next    = START;
+            for (int i = START ; i < END ; i++) {
+                if (SERIES.isEmptyItem(i)) {
+                    next = i;
+                    break;
+                }
+                final double AREA = Math.abs((X_A - avgX) * (SERIES.getY(i) - Y_A) - (X_A - SERIES.getX(i)) * (avgY - Y_A));
+                if (AREA > maxArea) {
+                    maxArea = AREA;
+                    next    = i;
+                }
+            }
+            INDICES[count++] = next;
+            if (!SERIES.isEmptyItem(next)) { selected = next; }
+        }
+        INDICES[count++] = TO - 1;
+        return count;
+    }
+
+    /**
+     * Collapses the items in [FROM, TO) to one entry per pixel column, keeping
+     * the x of the first item in the column, the minimum yMin and the maximum
+     * yMax. Empty items are skipped. Columns outside [0, WIDTH] are clamped
+     * so the arrays need at most WIDTH + 3 entries. Returns the number of
+     * columns written.
+     */
+    public static int minMaxColumns(final XYConfidenceSeries<?> SERIES, final int FROM, final int TO,
+                                    final double LOWER_BOUND_X, final double SCALE_X, final int WIDTH,
+                                    final double[] X, final double[] Y_MIN, final double[] Y_MAX) {
+        int count      = 0;
+        int lastColumn = Integer.MIN_VALUE;
+        for (int i = FROM ; i < TO ; i++) {
+            if (SERIES.isEmptyItem(i)) { continue; }
+            final int COLUMN = Helper.clamp(-1, WIDTH + 1, (int) Math.floor((SERIES.getX(i) - LOWER_BOUND_X) * SCALE_X));
+            if (COLUMN != lastColumn) {
+                X[count]     = SERIES.getX(i);
+                Y_MIN[count] = SERIES.getYMin(i);
+                Y_MAX[count] = SERIES.getYMax(i);
+                count++;
+                lastColumn = COLUMN;
+            } else {
+                Y_MIN[count - 1] = Math.min(Y_MIN[count - 1], SERIES.getYMin(i));
+                Y_MAX[count - 1] = Math.max(Y_MAX[count - 1], SERIES.getYMax(i));
+            }
+        }
+        return count;
+    }
+}
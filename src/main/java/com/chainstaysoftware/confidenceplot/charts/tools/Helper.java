@@ -322,6 +322,35 @@ public class Helper {
         return subdividedPoints;
     }
 
+    /**
+     * Catmull-Rom subdivision of one coordinate without creating objects.
+     * Uses the same end point handling as subdividePoints(), writes
+     * ((NO_OF_VALUES - 1) * SUB_DIVISIONS) + 1 values into RESULT and returns
+     * that number. Call it once per coordinate (x, y, yMin, yMax).
+     */
+    public static final int subdivideValues(final double[] VALUES, final int NO_OF_VALUES, final int SUB_DIVISIONS, final double[] RESULT) {
+        if (NO_OF_VALUES == 0) { return 0; }
+        final double INCREMENT = 1.0 / (double) SUB_DIVISIONS;
+        for (int i = 0 ; i < NO_OF_VALUES - 1 ; i++) {
+            final double P0 = i == 0 ? VALUES[i] : VALUES[i - 1];
+            final double P1 = VALUES[i];
+            final double P2 = VALUES[i + 1];
+            final double P3 = i + 2 == NO_OF_VALUES ? VALUES[i + 1] : VALUES[i + 2];
+            final double A  = 2 * P1;
+            final double B  = P2 - P0;
+            final double C  = 2 * P0 - 5 * P1 + 4 * P2 - P3;
+            final double D  = 3 * P1 - P0 - 3 * P2 + P3;
+            final int OFFSET = i * SUB_DIVISIONS;
+            for (int j = 0 ; j < SUB_DIVISIONS ; j++) {
+                final double T = j * INCREMENT;
+                RESULT[OFFSET + j] = 0.5 * (A + T * (B + T * (C + T * D)));
+            }
+        }
+        final int NO_OF_RESULTS = (NO_OF_VALUES - 1) * SUB_DIVISIONS + 1;
+        RESULT[NO_OF_RESULTS - 1] = VALUES[NO_OF_VALUES - 1];
+        return NO_OF_RESULTS;
+    }
+
     public static final List<DataPoint> subdivideDataPoints(final List<DataPoint> POINTS, final int SUB_DIVISIONS) {
         DataPoint[] points = POINTS.toArray(new DataPoint[0]);
         return Arrays.asList(subdividePoints(points, SUB_DIVISIONS));
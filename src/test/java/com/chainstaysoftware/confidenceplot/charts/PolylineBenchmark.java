@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.chainstaysoftware.confidenceplot.charts;
+
+import com.chainstaysoftware.confidenceplot.charts.data.XYConfidenceChartItem;
+import com.chainstaysoftware.confidenceplot.charts.data.XYItem;
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeries;
+import com.chainstaysoftware.confidenceplot.charts.series.XYConfidenceSeriesBuilder;
+import com.chainstaysoftware.confidenceplot.charts.tools.Decimation;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+
+/**
+ * Measures the frame time of XYConfidencePane drawing a 20,000 item
+ * confidence line, once with every item drawn and once decimated. Every
+ * frame the series is refreshed, so the pane runs its own renderer and Prism
+ * renders the result. Pulses run at full speed (see the launcher), the
+ * measured time per pulse is the time per frame.
+ */
+public class PolylineBenchmark extends Application {
+    private static final int                                       WIDTH       = 1200;
+    private static final int                                       HEIGHT      = 600;
+    private static final int                                       NO_OF_ITEMS = 20_000;
+    private static final int                                       WARMUP      = 60;
+    private static final int                                       ITERATIONS  = 300;
+    private              XYConfidenceSeries<XYConfidenceChartItem> series;
+    private              XYConfidencePane<XYConfidenceChartItem>   pane;
+    private              Decimation[]                              decimations;
+    private              double[]                                  results;
+    private              int                                       run;
+    private              int                                       frame;
+    private              long                                      start;
+
+
+    @Override public void init() {
+        Random       rnd   = new Random(42);
+        List<XYItem> items = new ArrayList<>(NO_OF_ITEMS);
+        double       value = 500;
+        for (int i = 0 ; i < NO_OF_ITEMS ; i++) {
+            value = Math.max(0, Math.min(1000, value + rnd.nextGaussian() * 8));
+            items.add(new XYConfidenceChartItem(i, value, value - 20, value + 20, ""));
+        }
+        series = XYConfidenceSeriesBuilder.create()
+                                          .items(items)
+                                          .chartType(ChartType.CONFIDENCE_LINE)
+                                          .stroke(Color.BLACK)
+                                          .strokeWidth(1)
+                                          .confidenceIntervalFill(Color.web("#00AEF520"))
+                                          .confidenceIntervalVisible(true)
+                                          .build();
+        pane        = new XYConfidencePane<>(series);
+        decimations = Decimation.values();
+        results     = new double[decimations.length];
+        pane.setBounds(0, NO_OF_ITEMS, 0, 1000);
+        pane.setDecimation(decimations[0]);
+    }
+
+    @Override public void start(final Stage stage) {
+        stage.setScene(new Scene(new StackPane(pane), WIDTH, HEIGHT));
+        stage.setTitle("PolylineBenchmark");
+        stage.show();
+
+        new AnimationTimer() {
+            @Override public void handle(final long NOW) {
+                if (frame == WARMUP) { start = System.nanoTime(); }
+                if (frame == WARMUP + ITERATIONS) {
+                    results[run] = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+                    frame        = 0;
+                    run++;
+                    if (run == decimations.length) {
+                        stop();
+                        report();
+                        return;
+                    }
+                    pane.setDecimation(decimations[run]);
+                }
+                series.refresh();
+                frame++;
+            }
+        }.start();
+    }
+
+    @Override public void stop() {
+        System.exit(0);
+    }
+
+    private void report() {
+        System.out.println(String.format(Locale.US, "%,d items, %d x %d px", NO_OF_ITEMS, WIDTH, HEIGHT));
+        for (int i = 0 ; i < decimations.length ; i++) {
+            System.out.println(String.format(Locale.US, "Decimation.%-5s: %8.2f ms/frame", decimations[i].name(), results[i]));
+        }
+        Platform.exit();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}